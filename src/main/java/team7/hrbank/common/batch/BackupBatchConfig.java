@@ -1,48 +1,84 @@
 package team7.hrbank.common.batch;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
 import org.springframework.batch.item.database.JdbcPagingItemReader;
-import org.springframework.batch.item.database.Order;
-import org.springframework.batch.item.database.support.SqlPagingQueryProviderFactoryBean;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.MultiResourceItemWriter;
 import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.batch.BatchDataSource;
+import org.springframework.boot.autoconfigure.batch.BatchTransactionManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.retry.RetryListener;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
+import team7.hrbank.common.batch.support.BackupChunkEncoder;
+import team7.hrbank.common.batch.support.BackupCompression;
+import team7.hrbank.common.batch.support.BackupFileMerger;
+import team7.hrbank.common.batch.support.BackupFormat;
+import team7.hrbank.common.batch.support.BackupManifest;
+import team7.hrbank.common.batch.support.BackupMetricsListener;
+import team7.hrbank.common.batch.support.BackupOutputMode;
+import team7.hrbank.common.batch.support.BackupProgressTracker;
+import team7.hrbank.common.batch.support.BackupReaderMode;
+import team7.hrbank.common.batch.support.BackupSinkRegistry;
+import team7.hrbank.common.batch.support.BackupSnapshots;
+import team7.hrbank.common.batch.support.BackupWorkspace;
+import team7.hrbank.common.batch.support.BatchConnectionBudget;
+import team7.hrbank.common.batch.support.BinaryChunkEncoder;
+import team7.hrbank.common.batch.support.BlockChecksums;
+import team7.hrbank.common.batch.support.ConnectionBudgetTaskExecutor;
+import team7.hrbank.common.batch.support.CsvChunkEncoder;
+import team7.hrbank.common.batch.support.EmployeeBackupReaders;
+import team7.hrbank.common.batch.support.GzipBlocks;
+import team7.hrbank.common.batch.support.OrderedBackupSink;
+import team7.hrbank.common.batch.support.OrderedSinkItemWriter;
+import team7.hrbank.common.batch.support.SnapshotTableDumper;
 import team7.hrbank.common.dto.EmployeeDepartmentDto;
 import team7.hrbank.common.exception.BackupException;
 import team7.hrbank.common.exception.ErrorCode;
 import team7.hrbank.common.extractor.EmployeeDepartmentExtractor;
-import team7.hrbank.common.extractor.EmployeeRowMapper;
 import team7.hrbank.common.partitioner.ColumnRangePartitioner;
-import team7.hrbank.domain.employee.repository.EmployeeRepository;
 
 @Slf4j
 @Configuration
@@ -50,94 +86,123 @@ import team7.hrbank.domain.employee.repository.EmployeeRepository;
 public class BackupBatchConfig {
 
   private final ColumnRangePartitioner partitioner;
+  private final BackupSinkRegistry sinkRegistry;
+  private final BackupWorkspace workspace;
+  private final BackupSnapshots snapshots;
+  @BatchDataSource
+  private final DataSource batchDataSource;
+  private final MeterRegistry meterRegistry;
 
   @Value("${hrbank.storage.local.root-path}")
   private String BACKUP_DIR;
 
-  @Value("${hrbank.storage.file-name}")
-  private String MERGED_CSV;
+  @Value("${hrbank.backup.output-mode:MERGE}")
+  private BackupOutputMode outputMode;
 
-  private static final String HEADER = "id,employeeNumber,name,email,department,position,hireDate,status";
+  @Value("${hrbank.backup.compression:NONE}")
+  private BackupCompression compression;
+
+  @Value("${hrbank.backup.format:CSV}")
+  private BackupFormat format;
+
+  @Value("${hrbank.backup.partition.max-grid-size:10}")
+  private int maxGridSize;
+
+  @Value("${hrbank.backup.reader:PAGING}")
+  private BackupReaderMode readerMode;
+
+  // 잡 메타데이터 등 파티션 외 작업을 위해 배치 풀에 남겨 둘 커넥션 수
+  @Value("${hrbank.backup.partition.reserved-connections:1}")
+  private int reservedConnections;
+
+  @Value("${hrbank.backup.snapshot.enabled:false}")
+  private boolean snapshot;
+
+  // 스냅샷 백업에서 사원 외에 함께 덤프할 테이블
+  @Value("${hrbank.backup.snapshot.tables:departments,change_log,employee_statistics}")
+  private List<String> snapshotTables;
+
+  static final String HEADER = "id,employeeNumber,name,email,department,position,hireDate,status";
   private static final int FETCH_SIZE = 1000;
+  public static final String BACKUP_FILE_SIZE = "backupFileSize";
 
   /**
    * Creates JdbcPagingItemReader for reading Employee, Department Data with pagination.
    * <br>
    * Migrated from JpaPagingItemReader to enhance performance
    *
-   * @param dataSource Source for DB Connection
    * @param minId      Minimum employeeID for each partition
    * @param maxId      Maximum employeeID for each partition
+   * @param snapshotId snapshot shared by all partitions, null unless snapshot mode
    * @return JdbcPagingItemReader configured for certain range of data
    */
   @Bean
   @StepScope
   public JdbcPagingItemReader<EmployeeDepartmentDto> employeeItemReaderJdbc(
-      DataSource dataSource,
       @Value("#{stepExecutionContext[minId]}") Long minId,
-      @Value("#{stepExecutionContext[maxId]}") Long maxId
+      @Value("#{stepExecutionContext[maxId]}") Long maxId,
+      @Value("#{jobExecutionContext['snapshotId']}") String snapshotId
   ) {
-    JdbcPagingItemReader<EmployeeDepartmentDto> reader = new JdbcPagingItemReader<>();
-    reader.setDataSource(dataSource);
-    reader.setFetchSize(FETCH_SIZE);
-    reader.setRowMapper(new EmployeeRowMapper());
-
-    SqlPagingQueryProviderFactoryBean provider = getSqlPagingQueryProviderFactoryBean(dataSource);
-
-    try {
-      reader.setQueryProvider(provider.getObject());
-    } catch (Exception e) {
-      throw new BackupException(ErrorCode.BACKUP_FAILED, e.getMessage());
-    }
-
-    Map<String, Object> parameterValues = new HashMap<>();
-    parameterValues.put("minId", minId);
-    parameterValues.put("maxId", maxId);
-//    parameterValues.put("_employee_number", "0");
-    reader.setParameterValues(parameterValues);
+    return EmployeeBackupReaders.paging(snapshots.dataSource(snapshotId), minId, maxId,
+        FETCH_SIZE);
+  }
 
-    return reader;
+  /**
+   * Creates JdbcCursorItemReader streaming each partition through one server-side cursor
+   * <br>
+   * Used when hrbank.backup.reader is CURSOR
+   */
+  @Bean
+  @StepScope
+  public JdbcCursorItemReader<EmployeeDepartmentDto> employeeItemReaderCursor(
+      @Value("#{stepExecutionContext[minId]}") Long minId,
+      @Value("#{stepExecutionContext[maxId]}") Long maxId,
+      @Value("#{jobExecutionContext['snapshotId']}") String snapshotId
+  ) {
+    return EmployeeBackupReaders.cursor(snapshots.dataSource(snapshotId), minId, maxId,
+        FETCH_SIZE);
   }
 
   /**
-   * Configures SQL paging query provider for Employee, Department retrieval
+   * Selects writer of each partition according to the backup output mode
+   * <br>
+   * STREAM mode writes into the final artifact, MERGE mode writes temp part files
+   * <br>
+   * BINARY format is only written in STREAM mode
    */
-  private static SqlPagingQueryProviderFactoryBean getSqlPagingQueryProviderFactoryBean(
-      DataSource dataSource) {
-
-    SqlPagingQueryProviderFactoryBean provider = new SqlPagingQueryProviderFactoryBean();
-    provider.setDataSource(dataSource);
-
-    provider.setSelectClause(
-        "employee_id, employee_number, name, email, job_title, hire_date, status, department_name"
-    );
-
-    provider.setFromClause("(SELECT\n"
-        + "    e.id AS employee_id, e.employee_number, e.name, e.email, e.job_title, e.hire_date, e.status, d.name AS department_name\n"
-        + "    FROM employees e\n"
-        + "    JOIN departments d ON e.department_id = d.id\n"
-        + "    WHERE e.id BETWEEN :minId AND :maxId) AS employee_data");
-    provider.setWhereClause("");
-    provider.setSortKeys(Collections.singletonMap("employee_id", Order.ASCENDING));
-    return provider;
+  @Bean
+  @StepScope
+  public ItemStreamWriter<EmployeeDepartmentDto> backupItemWriter(
+      @Value("#{stepExecutionContext['partitionId']}") String partitionId,
+      @Value("#{jobParameters['backupId']}") Long backupId
+  ) {
+    if (outputMode == BackupOutputMode.STREAM) {
+      BackupChunkEncoder encoder = format == BackupFormat.BINARY
+          ? new BinaryChunkEncoder()
+          : new CsvChunkEncoder(compression);
+      return new OrderedSinkItemWriter(sinkRegistry.get(backupId),
+          OrderedSinkItemWriter.partitionIndex(partitionId), encoder);
+    }
+    return multiFileItemWriter(partitionId, backupId);
   }
 
   /**
    * Creates a MultiResourceItemWriter for writing employee department data into multiple CSV
    * files.
    * <br>
-   * This process is parallel among partitions
+   * This process is parallel among partitions, files are written in the workspace of the run
    */
   @Bean
   @StepScope
   public MultiResourceItemWriter<EmployeeDepartmentDto> multiFileItemWriter(
-      @Value("#{stepExecutionContext['partitionId']}") String partitionId
+      @Value("#{stepExecutionContext['partitionId']}") String partitionId,
+      @Value("#{jobParameters['backupId']}") Long backupId
   ) {
 
     MultiResourceItemWriter<EmployeeDepartmentDto> writer = new MultiResourceItemWriter<>();
-    String fileName = String.format("%s/backup_part_%s_%s.csv", BACKUP_DIR, partitionId,
-        UUID.randomUUID().toString());
-    writer.setResource(new FileSystemResource(fileName));
+    Path file = workspace.dir(backupId).resolve(String.format("backup_part_%s_%s.csv", partitionId,
+        UUID.randomUUID().toString()));
+    writer.setResource(new FileSystemResource(file));
     writer.setDelegate(delegateEmployeeItemWriter(partitionId));
     writer.setSaveState(false);
     writer.setItemCountLimitPerResource(20000);
@@ -192,19 +257,66 @@ public class BackupBatchConfig {
 //  }
 
 
+  /**
+   * Records read / write timings, bytes and retries of each partition
+   * <br>
+   * Bytes are taken from the stream sink in STREAM mode, from part files in MERGE mode
+   */
+  @Bean
+  @StepScope
+  public BackupMetricsListener backupMetricsListener(
+      @Value("#{jobParameters['backupId']}") Long backupId
+  ) {
+    return new BackupMetricsListener(partitionId -> partitionBytes(backupId, partitionId));
+  }
+
+  /**
+   * Live progress of running backups, registered on the full and incremental backup jobs
+   */
+  @Bean
+  public BackupProgressTracker backupProgressTracker() {
+    return new BackupProgressTracker(this::partitionBytes);
+  }
+
+  private long partitionBytes(Long backupId, String partitionId) {
+    if (outputMode == BackupOutputMode.STREAM) {
+      return sinkRegistry.get(backupId).bytesOf(OrderedSinkItemWriter.partitionIndex(partitionId));
+    }
+    return partFileBytes(backupId, partitionId);
+  }
+
+  private long partFileBytes(Long backupId, String partitionId) {
+    String prefix = String.format("backup_part_%s_", partitionId);
+    try (Stream<Path> files = Files.list(workspace.dir(backupId))) {
+      return files.filter(file -> file.getFileName().toString().startsWith(prefix))
+          .mapToLong(file -> file.toFile().length())
+          .sum();
+    } catch (IOException e) {
+      log.warn("Failed to measure part files of {}: {}", partitionId, e.getMessage());
+      return 0;
+    }
+  }
+
   /**
    * Defines a Step for backing up employee department data with chunk-based processing.
+   * <br>
+   * Chunks of one partition run sequentially so each part file stays sorted by employee id
    */
   @Bean
   public Step employeeBackupStep(JobRepository jobRepository,
-      PlatformTransactionManager transactionManager) {
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
     return new StepBuilder("backupStep", jobRepository)
         .<EmployeeDepartmentDto, EmployeeDepartmentDto>chunk(FETCH_SIZE, transactionManager)
-        .reader(employeeItemReaderJdbc(null, null, null))
-        .writer(multiFileItemWriter("#{stepExecutionContext['partitionId']}"))
+        .reader(readerMode == BackupReaderMode.CURSOR
+            ? employeeItemReaderCursor(null, null, null)
+            : employeeItemReaderJdbc(null, null, null))
+        .writer(backupItemWriter(null, null))
+        .listener((StepExecutionListener) backupMetricsListener(null))
+        .listener((ChunkListener) backupMetricsListener(null))
+        .listener((ItemWriteListener<EmployeeDepartmentDto>) backupMetricsListener(null))
         .allowStartIfComplete(true)
-        .taskExecutor(taskExecutor())
         .faultTolerant()
+        .listener((RetryListener) backupMetricsListener(null))
         .retryLimit(3)
         .retry(Exception.class)
         .build();
@@ -212,97 +324,316 @@ public class BackupBatchConfig {
 
   /**
    * Defines a Step for merging multiple backup CSV files into a single file
+   * <br>
+   * Part files are concatenated in partition order with zero-copy channel transfer
+   * <br>
+   * With GZIP compression, part files are first compressed in parallel into gzip members
+   * <br>
+   * Every merged block is checksummed in parallel and the manifest is written as
+   * {fileId}.manifest.json
    */
   @Bean
   public Step mergeCsvStep(JobRepository jobRepository,
-      PlatformTransactionManager transactionManager) {
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
     return new StepBuilder("mergeCsvStep", jobRepository)
         .tasklet((contribution, chunkContext) -> {
-          File backupFolder = new File(BACKUP_DIR);
-          File[] backupFiles = backupFolder.listFiles(
-              (dir, name) -> name.startsWith("backup_part_") && name.endsWith(".csv"));
-          if (backupFiles == null || backupFiles.length == 0) {
+          Long backupId = (Long) chunkContext.getStepContext().getJobParameters().get("backupId");
+          List<Path> partFiles = BackupFileMerger.findPartFiles(workspace.dir(backupId));
+          Map<String, Long> partitionRows = BackupManifest.partitionRows(
+              chunkContext.getStepContext().getStepExecution().getJobExecution());
+          // 빈 테이블은 파트 파일 없이 헤더만 기록, 행을 쓴 파티션의 파일이 없으면 실패
+          if (partFiles.isEmpty()
+              && partitionRows.values().stream().mapToLong(Long::longValue).sum() > 0) {
             throw new BackupException(ErrorCode.BACKUP_FAILED,
                 "No backup files found to merge"); // TODO : 메시지 상수화
           }
 
-          File finalCsvFile = new File(BACKUP_DIR + MERGED_CSV);
-          if (finalCsvFile.exists()) {
-            if (finalCsvFile.delete()) {
-              log.info("Existing tmpBackup.csv deleted");
+          Path finalCsvFile = workspace.mergedFile(backupId);
+          List<Path> blocks = partFiles;
+          try {
+            if (compression == BackupCompression.GZIP) {
+              blocks = compressParts(partFiles);
+            }
+            byte[] header = new CsvChunkEncoder(compression).header(HEADER);
+            List<Long> checksums = checksumParts(blocks);
+            long size = BackupFileMerger.merge(blocks, finalCsvFile, header);
+            log.info("Merged {} part files into {} ({} bytes)", partFiles.size(),
+                finalCsvFile.toAbsolutePath(), size);
+
+            StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+            Long fileId = stepExecution.getJobParameters().getLong("fileId");
+            mergedManifest(header, partFiles, blocks, checksums, partitionRows)
+                .write(Path.of(BACKUP_DIR, BackupManifest.fileName(fileId)));
+          } catch (IOException e) {
+            throw new BackupException(ErrorCode.BACKUP_FAILED, "Error merging CSV files");
+          } finally {
+            if (blocks != partFiles) {
+              blocks.forEach(block -> block.toFile().delete());
             }
           }
 
-          boolean wroteHeader = false;
-          try (BufferedWriter writer = new BufferedWriter(new FileWriter(finalCsvFile, true))) {
-            if (!wroteHeader) {
-              wroteHeader = true;
-              writer.write(HEADER);
-              writer.newLine();
-            }
-            for (File file : backupFiles) {
-              try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                  writer.write(line);
-                  writer.newLine();
-                }
-              }
-            }
+          return RepeatStatus.FINISHED;
+        }, transactionManager)
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+
+  /**
+   * Compresses every part file into a sibling gzip member on the batch task executor
+   */
+  private List<Path> compressParts(List<Path> partFiles) throws IOException {
+    List<CompletableFuture<Path>> futures = partFiles.stream()
+        .map(part -> CompletableFuture.supplyAsync(() -> {
+          Path compressed = part.resolveSibling(part.getFileName() + ".gz");
+          try {
+            GzipBlocks.compressFile(part, compressed);
           } catch (IOException e) {
-            throw new BackupException(ErrorCode.BACKUP_FAILED, "Error merging CSV files");
+            throw new UncheckedIOException(e);
+          }
+          return compressed;
+        }, taskExecutor()))
+        .toList();
+
+    try {
+      return futures.stream().map(CompletableFuture::join).toList();
+    } catch (CompletionException e) {
+      throw new IOException("Error compressing part files", e.getCause());
+    }
+  }
+
+  /**
+   * Computes CRC32C of every block file on the batch task executor
+   */
+  private List<Long> checksumParts(List<Path> blocks) throws IOException {
+    List<CompletableFuture<Long>> futures = blocks.stream()
+        .map(block -> CompletableFuture.supplyAsync(() -> {
+          try {
+            return BlockChecksums.crc32c(block);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
           }
+        }, taskExecutor()))
+        .toList();
 
-          log.info("Merged CSV file created: {}", finalCsvFile.getAbsolutePath());
+    try {
+      return futures.stream().map(CompletableFuture::join).toList();
+    } catch (CompletionException e) {
+      throw new IOException("Error checksumming part files", e.getCause());
+    }
+  }
 
+  /**
+   * Layout of the merged artifact : header, then one block per part file in merge order
+   *
+   * @param partFiles part files, used for their partition id
+   * @param blocks    blocks actually merged, part files or their gzip members
+   */
+  private static BackupManifest mergedManifest(byte[] header, List<Path> partFiles,
+      List<Path> blocks, List<Long> checksums, Map<String, Long> partitionRows) throws IOException {
+    List<BackupManifest.Block> manifestBlocks = new ArrayList<>();
+    Map<String, long[]> ranges = new LinkedHashMap<>();
+    manifestBlocks.add(new BackupManifest.Block(0, header.length, BlockChecksums.crc32c(header)));
+    long offset = header.length;
+
+    for (int i = 0; i < blocks.size(); i++) {
+      long length = Files.size(blocks.get(i));
+      manifestBlocks.add(new BackupManifest.Block(offset, length, checksums.get(i)));
+      String partitionId = BackupFileMerger.partitionId(partFiles.get(i));
+      long[] range = ranges.computeIfAbsent(partitionId, key -> new long[]{-1, 0});
+      if (range[0] < 0) {
+        range[0] = offset;
+      }
+      range[1] += length;
+      offset += length;
+    }
+
+    List<BackupManifest.PartitionRange> partitions = new ArrayList<>();
+    long rows = 0;
+    for (Map.Entry<String, long[]> range : ranges.entrySet()) {
+      long partitionRowCount = partitionRows.getOrDefault(range.getKey(), 0L);
+      partitions.add(new BackupManifest.PartitionRange(range.getKey(), range.getValue()[0],
+          range.getValue()[1], partitionRowCount));
+      rows += partitionRowCount;
+    }
+    return new BackupManifest(BackupManifest.VERSION, rows, offset, partitions, manifestBlocks);
+  }
+
+  /**
+   * Opens the final artifact {fileId}.csv (.csv.gz, .hrb) for STREAM mode and writes its header
+   */
+  @Bean
+  public Step openBackupStreamStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("openBackupStreamStep", jobRepository)
+        .tasklet((contribution, chunkContext) -> {
+          Map<String, Object> params = chunkContext.getStepContext().getJobParameters();
+          Long backupId = (Long) params.get("backupId");
+          Path artifact = Path.of(BACKUP_DIR,
+              format.artifactName((Long) params.get("fileId"), compression));
+          byte[] header = format == BackupFormat.BINARY
+              ? BinaryChunkEncoder.header()
+              : new CsvChunkEncoder(compression).header(HEADER);
+
+          try {
+            sinkRegistry.open(backupId, artifact, header);
+          } catch (IOException e) {
+            throw new BackupException(ErrorCode.BACKUP_FAILED, "Error opening backup stream");
+          }
+          log.info("Backup stream opened: {}", artifact.toAbsolutePath());
+          return RepeatStatus.FINISHED;
+        }, transactionManager)
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+  /**
+   * Flushes every partition still waiting in STREAM mode and closes the final artifact
+   * <br>
+   * Size of the artifact is stored in job execution context as backupFileSize, its manifest is
+   * written as {fileId}.manifest.json
+   */
+  @Bean
+  public Step closeBackupStreamStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("closeBackupStreamStep", jobRepository)
+        .tasklet((contribution, chunkContext) -> {
+          Map<String, Object> params = chunkContext.getStepContext().getJobParameters();
+          Long backupId = (Long) params.get("backupId");
+          JobExecution jobExecution = chunkContext.getStepContext().getStepExecution()
+              .getJobExecution();
+
+          try {
+            OrderedBackupSink sink = sinkRegistry.get(backupId);
+            long size = sinkRegistry.close(backupId);
+            jobExecution.getExecutionContext().putLong(BACKUP_FILE_SIZE, size);
+            sink.manifest(BackupManifest.partitionRows(jobExecution))
+                .write(Path.of(BACKUP_DIR, BackupManifest.fileName((Long) params.get("fileId"))));
+            log.info("Backup stream closed ({} bytes)", size);
+          } catch (IOException e) {
+            throw new BackupException(ErrorCode.BACKUP_FAILED, "Error closing backup stream");
+          }
           return RepeatStatus.FINISHED;
         }, transactionManager)
         .allowStartIfComplete(true)
         .build();
   }
 
+  /**
+   * Exports one snapshot before the first step of a snapshot backup and releases it when the job
+   * ends
+   * <br>
+   * The snapshot id is stored in job execution context as snapshotId, partitions, the partitioner
+   * and table dumps all read through it
+   */
+  @Bean
+  public JobExecutionListener backupSnapshotListener() {
+    return new JobExecutionListener() {
+      @Override
+      public void beforeJob(JobExecution jobExecution) {
+        Long backupId = jobExecution.getJobParameters().getLong("backupId");
+        jobExecution.getExecutionContext()
+            .putString(BackupSnapshots.SNAPSHOT_ID, snapshots.export(backupId));
+      }
+
+      @Override
+      public void afterJob(JobExecution jobExecution) {
+        snapshots.release(jobExecution.getJobParameters().getLong("backupId"));
+      }
+    };
+  }
+
+  /**
+   * Dumps the other domain tables of a snapshot backup in parallel, each as {fileId}.{table}.csv
+   * <br>
+   * Runs next to the employee partitions, on the same snapshot
+   */
+  @Bean
+  public Step snapshotTablesStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("snapshotTablesStep", jobRepository)
+        .tasklet((contribution, chunkContext) -> {
+          Long fileId = (Long) chunkContext.getStepContext().getJobParameters().get("fileId");
+          String snapshotId = (String) chunkContext.getStepContext().getJobExecutionContext()
+              .get(BackupSnapshots.SNAPSHOT_ID);
+          DataSource source = snapshots.dataSource(snapshotId);
+
+          List<CompletableFuture<Void>> dumps = snapshotTables.stream()
+              .map(table -> CompletableFuture.runAsync(() -> {
+                Path target = Path.of(BACKUP_DIR, SnapshotTableDumper.fileName(fileId, table));
+                try {
+                  long rows = SnapshotTableDumper.dump(source, table, target);
+                  log.info("Snapshot table {} dumped ({} rows)", table, rows);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              }, partitionTaskExecutor()))
+              .toList();
+
+          try {
+            CompletableFuture.allOf(dumps.toArray(CompletableFuture[]::new)).join();
+          } catch (CompletionException e) {
+            throw new BackupException(ErrorCode.BACKUP_FAILED,
+                "Error dumping snapshot tables : " + e.getCause().getMessage());
+          }
+          return RepeatStatus.FINISHED;
+        }, transactionManager)
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+  /**
+   * Releases the stream of a failed STREAM mode run
+   */
+  @Bean
+  public JobExecutionListener backupStreamCleanupListener() {
+    return new JobExecutionListener() {
+      @Override
+      public void afterJob(JobExecution jobExecution) {
+        Long backupId = jobExecution.getJobParameters().getLong("backupId");
+        if (backupId != null) {
+          sinkRegistry.discard(backupId);
+        }
+      }
+    };
+  }
 
   /**
    * Partitioned Step (병렬 실행)
    * <br>
-   * partition size is determined by the number of items in Employee table
+   * partition count is planned by {@link ColumnRangePartitioner} on every execution, up to
+   * max-grid-size
    */
   @Bean
   public Step partitionedStep(JobRepository jobRepository,
-      PlatformTransactionManager transactionManager,
-      EmployeeRepository employeeRepository) {
-
-    long totalRows = employeeRepository.count();
-    int gridSize = Math.min((int) (totalRows / 20000) + 1, 10); // 병렬 실행할 파티션 개수 , 최대 10개 제한
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
     return new StepBuilder("partitionedStep", jobRepository)
         .partitioner("backupStep", partitioner) // 파티셔너 적용
         .step(employeeBackupStep(jobRepository, transactionManager))
-        .gridSize(gridSize)  // 병렬 실행할 파티션 개수
-        .taskExecutor(taskExecutor())  // 병렬 실행
+        .gridSize(maxGridSize)  // 병렬 실행할 파티션 개수 상한
+        // 병렬 실행, 파티션이 점유하는 커넥션 수만큼 예산에서 차감
+        .taskExecutor(partitionTaskExecutor().withCost(
+            BatchConnectionBudget.connectionsPerPartition(readerMode, snapshot)))
         .allowStartIfComplete(true)
         .build();
   }
 
   /**
-   * Defineds a Step for deleting temp files before Job initiates
+   * Defineds a Step for preparing an empty workspace of the run before Job initiates
+   * <br>
+   * Only temp files of the same backup id are deleted, other runs are left untouched
    */
   @Bean
   public Step deleteStep(JobRepository jobRepository,
-      PlatformTransactionManager transactionManager) {
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
     return new StepBuilder("deleteStep", jobRepository)
         .tasklet((contribution, chunkContext) -> {
-          File backupFolder = new File(BACKUP_DIR);
-          File[] backupFiles = backupFolder.listFiles(
-              (dir, name) -> name.startsWith("backup_part_") && name.endsWith(".csv"));
-
-          if (backupFiles != null) {
-            for (File file : backupFiles) {
-              if (file.delete()) {
-                log.info("Deleted backup file: {}", file.getAbsolutePath());
-              } else {
-                log.warn("Failed to delete backup file: {}", file.getAbsolutePath());
-              }
-            }
+          Long backupId = (Long) chunkContext.getStepContext().getJobParameters().get("backupId");
+          try {
+            Path dir = workspace.prepare(backupId);
+            log.info("Backup workspace prepared: {}", dir.toAbsolutePath());
+          } catch (IOException e) {
+            throw new BackupException(ErrorCode.BACKUP_FAILED, "Error preparing backup workspace");
           }
           return RepeatStatus.FINISHED;
         }, transactionManager)
@@ -312,20 +643,87 @@ public class BackupBatchConfig {
 
   /**
    * 배치 Job
+   * <br>
+   * MERGE : deleteStep -> partitionedStep -> mergeCsvStep
+   * <br>
+   * STREAM : openBackupStreamStep -> partitionedStep -> closeBackupStreamStep
+   * <br>
+   * With snapshot enabled, partitionedStep runs in parallel with snapshotTablesStep, both reading
+   * one exported snapshot
    */
   @Bean
   public Job employeeBackupJob(JobRepository jobRepository,
-      PlatformTransactionManager transactionManager,
-      EmployeeRepository employeeRepository) {
-    return new JobBuilder("employeeBackupJob", jobRepository)
-        .start(deleteStep(jobRepository, transactionManager))
-        .next(partitionedStep(jobRepository, transactionManager, employeeRepository))
-        .next(mergeCsvStep(jobRepository, transactionManager))
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    JobBuilder builder = new JobBuilder("employeeBackupJob", jobRepository)
+        .listener(backupProgressTracker());
+
+    if (format == BackupFormat.BINARY && outputMode != BackupOutputMode.STREAM) {
+      throw new IllegalStateException("hrbank.backup.format BINARY requires output-mode STREAM");
+    }
+
+    Step first;
+    Step last;
+    if (outputMode == BackupOutputMode.STREAM) {
+      builder.listener(backupStreamCleanupListener());
+      first = openBackupStreamStep(jobRepository, transactionManager);
+      last = closeBackupStreamStep(jobRepository, transactionManager);
+    } else {
+      first = deleteStep(jobRepository, transactionManager);
+      last = mergeCsvStep(jobRepository, transactionManager);
+    }
+
+    if (!snapshot) {
+      return builder
+          .start(first)
+          .next(partitionedStep(jobRepository, transactionManager))
+          .next(last)
+          .preventRestart()
+          .build();
+    }
+
+    Flow employees = new FlowBuilder<SimpleFlow>("snapshotEmployeesFlow")
+        .start(partitionedStep(jobRepository, transactionManager))
+        .build();
+    Flow tables = new FlowBuilder<SimpleFlow>("snapshotTablesFlow")
+        .start(snapshotTablesStep(jobRepository, transactionManager))
+        .build();
+    Flow parallel = new FlowBuilder<SimpleFlow>("snapshotFlow")
+        .split(taskExecutor())
+        .add(employees, tables)
+        .build();
+
+    return builder
+        .listener(backupSnapshotListener())
         .preventRestart()
+        .flow(first)
+        .next(parallel)
+        .next(last)
+        .end()
         .build();
   }
 
 
+  /**
+   * Executor of partition workers (backup, restore, snapshot table dumps)
+   * <br>
+   * The budget is the connections the batch pool can give partitions : pool size minus reserved
+   * connections, and in snapshot mode minus the coordinator and the snapshotTablesStep
+   * transaction. Backup partitions are charged the connections they hold, restore and statistics
+   * partitions and table dumps one, see {@link BatchConnectionBudget}
+   */
+  @Bean
+  public ConnectionBudgetTaskExecutor partitionTaskExecutor() {
+    int poolSize = batchDataSource instanceof HikariDataSource hikari
+        ? hikari.getMaximumPoolSize()
+        : maxGridSize;
+    ConnectionBudgetTaskExecutor executor = new ConnectionBudgetTaskExecutor(taskExecutor(),
+        BatchConnectionBudget.connections(poolSize, reservedConnections, snapshot), meterRegistry);
+    log.info("Batch connection budget : pool {} -> {} connections, {} concurrent backup partitions",
+        poolSize, executor.getBudget(),
+        BatchConnectionBudget.partitions(poolSize, reservedConnections, readerMode, snapshot));
+    return executor;
+  }
+
   /**
    * 멀티 쓰레드 TaskExecutor
    */
@@ -0,0 +1,149 @@
+package team7.hrbank.common.batch;
+
+import java.nio.file.Path;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.batch.BatchDataSource;
+import org.springframework.boot.autoconfigure.batch.BatchTransactionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import team7.hrbank.common.batch.support.BackupCompression;
+import team7.hrbank.common.batch.support.BackupFormat;
+import team7.hrbank.common.batch.support.BinaryRangeItemReader;
+import team7.hrbank.common.batch.support.ConnectionBudgetTaskExecutor;
+import team7.hrbank.common.batch.support.CsvRangeItemReader;
+import team7.hrbank.common.batch.support.EmployeeRestoreStagingTable;
+import team7.hrbank.common.batch.support.EmployeeUpsertWriter;
+import team7.hrbank.common.batch.support.RestoreDepartmentResolver;
+import team7.hrbank.common.batch.support.RestoreFilePartitioner;
+import team7.hrbank.common.batch.support.RestoreRow;
+
+/**
+ * Restore job, loads employees of one backup artifact into {@link EmployeeRestoreStagingTable}
+ * <br>
+ * restoreDepartmentStep -> restorePartitionedStep
+ * <br>
+ * The artifact is split into line aligned byte ranges restored in parallel, each chunk is loaded
+ * with a single multi-row upsert into the staging table. Job parameters : backupId, file (artifact
+ * path), format, compression, timestamp
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class RestoreBatchConfig {
+
+  @BatchDataSource
+  private final DataSource dataSource;
+  private final RestoreDepartmentResolver departmentResolver;
+  private final ConnectionBudgetTaskExecutor partitionTaskExecutor;
+
+  @Value("${hrbank.backup.restore.grid-size:4}")
+  private int gridSize;
+
+  @Value("${hrbank.backup.restore.chunk-size:1000}")
+  private int chunkSize;
+
+  // 이보다 작은 파일은 나누지 않음
+  @Value("${hrbank.backup.restore.min-partition-bytes:1048576}")
+  private long minPartitionBytes;
+
+  /**
+   * Splits the artifact into byte ranges, gzip artifacts are restored as one range
+   */
+  @Bean
+  @StepScope
+  public RestoreFilePartitioner restoreFilePartitioner(
+      @Value("#{jobParameters['file']}") String file,
+      @Value("#{jobParameters['format']}") String format,
+      @Value("#{jobParameters['compression']}") String compression
+  ) {
+    return new RestoreFilePartitioner(Path.of(file), BackupFormat.valueOf(format),
+        BackupCompression.valueOf(compression), minPartitionBytes);
+  }
+
+  /**
+   * Reads one range of the artifact, CSV or binary
+   */
+  @Bean
+  @StepScope
+  public ItemStreamReader<RestoreRow> restoreItemReader(
+      @Value("#{jobParameters['file']}") String file,
+      @Value("#{jobParameters['format']}") String format,
+      @Value("#{jobParameters['compression']}") String compression,
+      @Value("#{stepExecutionContext['start']}") Long start,
+      @Value("#{stepExecutionContext['end']}") Long end
+  ) {
+    if (BackupFormat.valueOf(format) == BackupFormat.BINARY) {
+      return new BinaryRangeItemReader(Path.of(file), start, end);
+    }
+    return new CsvRangeItemReader(Path.of(file), BackupCompression.valueOf(compression), start, end);
+  }
+
+  @Bean
+  @StepScope
+  public EmployeeUpsertWriter restoreItemWriter() {
+    return new EmployeeUpsertWriter(dataSource, departmentResolver);
+  }
+
+  /**
+   * Loads department name to id map once before partitions start
+   */
+  @Bean
+  public Step restoreDepartmentStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("restoreDepartmentStep", jobRepository)
+        .tasklet((contribution, chunkContext) -> {
+          departmentResolver.load();
+          return RepeatStatus.FINISHED;
+        }, transactionManager)
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+  @Bean
+  public Step restoreStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("restoreStep", jobRepository)
+        .<RestoreRow, RestoreRow>chunk(chunkSize, transactionManager)
+        .reader(restoreItemReader(null, null, null, null, null))
+        .writer(restoreItemWriter())
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+  /**
+   * Partitioned Step (병렬 실행)
+   */
+  @Bean
+  public Step restorePartitionedStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("restorePartitionedStep", jobRepository)
+        .partitioner("restoreStep", restoreFilePartitioner(null, null, null))
+        .step(restoreStep(jobRepository, transactionManager))
+        .gridSize(gridSize)
+        .taskExecutor(partitionTaskExecutor)
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+  @Bean
+  public Job employeeRestoreJob(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new JobBuilder("employeeRestoreJob", jobRepository)
+        .start(restoreDepartmentStep(jobRepository, transactionManager))
+        .next(restorePartitionedStep(jobRepository, transactionManager))
+        .preventRestart()
+        .build();
+  }
+}
@@ -0,0 +1,205 @@
+package team7.hrbank.common.batch;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.batch.BatchDataSource;
+import org.springframework.boot.autoconfigure.batch.BatchTransactionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import team7.hrbank.common.batch.support.ConnectionBudgetTaskExecutor;
+import team7.hrbank.common.batch.support.EmployeeStatisticUpsertWriter;
+import team7.hrbank.common.batch.support.HeadcountSeriesReader;
+import team7.hrbank.common.batch.support.StatisticStagingTable;
+import team7.hrbank.common.partitioner.StatisticYearPartitioner;
+import team7.hrbank.domain.change_log.dto.HeadcountDeltaDto;
+import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatistic;
+import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatisticType;
+
+/**
+ * Rebuilds DAY, WEEK, MONTH, QUARTER and YEAR statistics in one pass
+ * <br>
+ * Replaces the five full statistics jobs, which each recounted change_log for their own buckets.
+ * CREATED / DELETED events are read once as deltas per capture date, the daily headcount is their
+ * running sum, and every coarser statistic is taken from the same series on the last day of its
+ * bucket. All types are written together with batched upserts
+ * <br>
+ * The series is partitioned per year by {@link StatisticYearPartitioner}, and the partitions run
+ * in parallel on the batch pool. They share partitionTaskExecutor with backup and restore, so the
+ * rebuild never holds more connections than the batch connection budget
+ * <br>
+ * statisticsRollupJob rebuilds the whole series into {@link StatisticStagingTable} and swaps it
+ * in at the end, so readers never see an empty or partial series
+ * <br>
+ * statisticsRecomputeJob takes the job parameter from and rebuilds only the suffix of the series
+ * from that date, in place. Deltas before from are folded into its first day, and every bucket
+ * ending on or after from (including the buckets enclosing from) is rewritten
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class TrendRollupBatch {
+
+  private static final LocalDate SERIES_START = LocalDate.of(2012, 1, 1);
+  private static final int CHUNK_SIZE = 500;
+
+  // 파티션 종료일까지의 날짜별 증감, 시작일 이전 변경은 시작일 하나로 합산
+  private static final String DELTA_SQL = """
+      SELECT GREATEST(capture_date, ?) AS capture_date,
+             SUM(CASE WHEN type = 'CREATED' THEN 1 ELSE -1 END) AS delta
+      FROM change_log
+      WHERE type IN ('CREATED', 'DELETED')
+      AND capture_date <= ?
+      GROUP BY 1
+      ORDER BY 1
+      """;
+
+  private final ConnectionBudgetTaskExecutor partitionTaskExecutor;
+  @BatchDataSource
+  private final DataSource batchDataSource;
+
+  /**
+   * Year partitions from SERIES_START (or the job parameter from) to today, planned on every
+   * execution
+   */
+  @Bean
+  @StepScope
+  public StatisticYearPartitioner statisticsRollupPartitioner(
+      @Value("#{jobParameters['from']}") String from) {
+    LocalDate start = from == null ? SERIES_START : LocalDate.parse(from);
+    if (start.isBefore(SERIES_START)) {
+      start = SERIES_START;
+    }
+    return new StatisticYearPartitioner(start, LocalDate.now());
+  }
+
+  @Bean
+  @StepScope
+  public ItemReader<EmployeeStatistic> statisticsRollupReader(
+      @Value("#{stepExecutionContext['from']}") String from,
+      @Value("#{stepExecutionContext['to']}") String to,
+      @Value("#{stepExecutionContext['seriesEnd']}") String seriesEnd) {
+    LocalDate start = LocalDate.parse(from);
+    LocalDate end = LocalDate.parse(to);
+    List<HeadcountDeltaDto> deltas = new JdbcTemplate(batchDataSource).query(DELTA_SQL,
+        (rs, rowNum) -> new HeadcountDeltaDto(rs.getDate("capture_date").toLocalDate(),
+            rs.getLong("delta")),
+        start, end);
+    return new HeadcountSeriesReader(deltas, start, end, LocalDate.parse(seriesEnd),
+        EnumSet.allOf(EmployeeStatisticType.class));
+  }
+
+  /**
+   * Writes a full rebuild (no from) into the staging table, a recompute into the live table
+   */
+  @Bean
+  @StepScope
+  public ItemWriter<EmployeeStatistic> statisticsRollupWriter(
+      @Value("#{jobParameters['from']}") String from) {
+    return new EmployeeStatisticUpsertWriter(batchDataSource,
+        from == null ? StatisticStagingTable.STAGING : StatisticStagingTable.LIVE);
+  }
+
+  /**
+   * Worker step, one year of the series
+   */
+  @Bean
+  public Step statisticsRollupStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("statisticsRollupStep", jobRepository)
+        .<EmployeeStatistic, EmployeeStatistic>chunk(CHUNK_SIZE, transactionManager)
+        .reader(statisticsRollupReader(null, null, null))
+        .writer(statisticsRollupWriter(null))
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+  /**
+   * Partitioned Step (병렬 실행)
+   */
+  @Bean
+  public Step statisticsRollupPartitionedStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("statisticsRollupPartitionedStep", jobRepository)
+        .partitioner("statisticsRollupStep", statisticsRollupPartitioner(null))
+        .step(statisticsRollupStep(jobRepository, transactionManager))
+        .taskExecutor(partitionTaskExecutor)  // 병렬 실행, 커넥션 예산만큼
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+  /**
+   * Creates an empty staging table before a full rebuild
+   */
+  @Bean
+  public Step prepareStatisticsStagingStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("prepareStatisticsStagingStep", jobRepository)
+        .tasklet((contribution, chunkContext) -> {
+          StatisticStagingTable.prepare(new JdbcTemplate(batchDataSource));
+          return RepeatStatus.FINISHED;
+        }, transactionManager)
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+  /**
+   * Swaps the rebuilt staging table in, in the transaction of the step
+   */
+  @Bean
+  public Step swapStatisticsStagingStep(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new StepBuilder("swapStatisticsStagingStep", jobRepository)
+        .tasklet((contribution, chunkContext) -> {
+          StatisticStagingTable.swap(new JdbcTemplate(batchDataSource));
+          log.info("Statistics rebuilt, staging table swapped in");
+          return RepeatStatus.FINISHED;
+        }, transactionManager)
+        .allowStartIfComplete(true)
+        .build();
+  }
+
+  /**
+   * 전체 재계산 Job
+   * <br>
+   * prepareStatisticsStagingStep -> statisticsRollupPartitionedStep -> swapStatisticsStagingStep
+   */
+  @Bean
+  public Job statisticsRollupJob(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new JobBuilder("statisticsRollupJob", jobRepository)
+        .incrementer(new RunIdIncrementer())
+        .start(prepareStatisticsStagingStep(jobRepository, transactionManager))
+        .next(statisticsRollupPartitionedStep(jobRepository, transactionManager))
+        .next(swapStatisticsStagingStep(jobRepository, transactionManager))
+        .build();
+  }
+
+  /**
+   * 부분 재계산 Job, job parameter from 부터 오늘까지
+   */
+  @Bean
+  public Job statisticsRecomputeJob(JobRepository jobRepository,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    return new JobBuilder("statisticsRecomputeJob", jobRepository)
+        .incrementer(new RunIdIncrementer())
+        .start(statisticsRollupPartitionedStep(jobRepository, transactionManager))
+        .build();
+  }
+}
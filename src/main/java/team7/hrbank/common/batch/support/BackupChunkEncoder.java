@@ -0,0 +1,15 @@
+package team7.hrbank.common.batch.support;
+
+import org.springframework.batch.item.Chunk;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+
+/**
+ * Encodes a whole chunk into one self-contained block of the backup artifact
+ * <br>
+ * Blocks of different partitions are encoded concurrently and appended in order by
+ * {@link OrderedBackupSink}, so a block must not depend on the blocks before it
+ */
+public interface BackupChunkEncoder {
+
+  byte[] encode(Chunk<? extends EmployeeDepartmentDto> chunk);
+}
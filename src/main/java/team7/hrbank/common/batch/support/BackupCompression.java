@@ -0,0 +1,34 @@
+package team7.hrbank.common.batch.support;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Storage format of backup artifacts
+ * <br>
+ * NONE : plain CSV, {fileId}.csv
+ * <br>
+ * GZIP : CSV made of independently gzip compressed blocks (multi-member gzip), {fileId}.csv.gz
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BackupCompression {
+  NONE("application/csv", "csv"),
+  GZIP("application/gzip", "csv.gz");
+
+  private final String fileType;
+  private final String extension;
+
+  public String artifactName(Long fileId) {
+    return fileId + "." + extension;
+  }
+
+  public static BackupCompression ofFileType(String fileType) {
+    for (BackupCompression compression : values()) {
+      if (compression.fileType.equals(fileType)) {
+        return compression;
+      }
+    }
+    throw new IllegalArgumentException("Not a backup file type : " + fileType);
+  }
+}
@@ -0,0 +1,119 @@
+package team7.hrbank.common.batch.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import team7.hrbank.common.batch.BackupBatchConfig;
+
+/**
+ * Concatenates the partition files written by {@link BackupBatchConfig} into a single backup file
+ * <br>
+ * Part files are ordered by partition index, then by MultiResourceItemWriter suffix, so the merged
+ * file is sorted by employee id and identical data always produces an identical file
+ * <br>
+ * Bytes are copied with {@link FileChannel#transferTo} without any charset decoding
+ */
+public final class BackupFileMerger {
+
+  public static final String PART_PREFIX = "backup_part_";
+
+  // backup_part_P{partitionIndex}_{uuid}.csv_{suffix}.csv
+  private static final Pattern PART_NAME = Pattern.compile("^backup_part_P(\\d+)_.*_(\\d+)\\.csv$");
+
+  static final Comparator<Path> PART_ORDER = Comparator
+      .comparingLong((Path path) -> nameGroup(path, 1))
+      .thenComparingLong(path -> nameGroup(path, 2))
+      .thenComparing(path -> path.getFileName().toString());
+
+  private BackupFileMerger() {
+  }
+
+  /**
+   * Lists part files of the given directory in merge order
+   */
+  public static List<Path> findPartFiles(Path dir) throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      return files
+          .filter(BackupFileMerger::isPartFile)
+          .sorted(PART_ORDER)
+          .toList();
+    }
+  }
+
+  /**
+   * Writes header and then every part file into target, replacing any existing target
+   *
+   * @param parts  part files in merge order
+   * @param target merged backup file
+   * @param header header line including line separator
+   * @return size of merged file in bytes
+   */
+  public static long merge(List<Path> parts, Path target, String header) throws IOException {
+    return merge(parts, target, header.getBytes(UTF_8));
+  }
+
+  /**
+   * @param header already encoded header block, e.g. a gzip member
+   */
+  public static long merge(List<Path> parts, Path target, byte[] header) throws IOException {
+    try (FileChannel out = FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+      while (headerBuffer.hasRemaining()) {
+        out.write(headerBuffer);
+      }
+      for (Path part : parts) {
+        try (FileChannel in = FileChannel.open(part, READ)) {
+          transferFully(in, out);
+        }
+      }
+      return out.size();
+    }
+  }
+
+  /**
+   * transferTo may move fewer bytes than requested, so loop until the whole source is copied
+   */
+  public static void transferFully(FileChannel in, FileChannel out) throws IOException {
+    long size = in.size();
+    long position = 0;
+    while (position < size) {
+      position += in.transferTo(position, size - position, out);
+    }
+  }
+
+  /**
+   * @return partition id (P0, P1 ...) of a part file
+   */
+  public static String partitionId(Path part) {
+    return "P" + nameGroup(part, 1);
+  }
+
+  private static boolean isPartFile(Path path) {
+    String name = path.getFileName().toString();
+    return name.startsWith(PART_PREFIX) && name.endsWith(".csv");
+  }
+
+  /**
+   * Files that do not follow the naming rule are placed after every well-formed part file
+   */
+  private static long nameGroup(Path path, int group) {
+    Matcher matcher = PART_NAME.matcher(path.getFileName().toString());
+    if (!matcher.matches()) {
+      return Long.MAX_VALUE;
+    }
+    return Long.parseLong(matcher.group(group));
+  }
+}
@@ -0,0 +1,44 @@
+package team7.hrbank.common.batch.support;
+
+/**
+ * Layout of full backup artifacts
+ * <br>
+ * CSV : text rows, compressed according to {@link BackupCompression}, {fileId}.csv or .csv.gz
+ * <br>
+ * BINARY : dictionary encoded blocks written by {@link BinaryChunkEncoder}, {fileId}.hrb. Already
+ * compact, so compression is not applied
+ */
+public enum BackupFormat {
+  CSV, BINARY;
+
+  public static final String BINARY_FILE_TYPE = "application/hrb";
+  private static final String BINARY_EXTENSION = "hrb";
+
+  public String fileType(BackupCompression compression) {
+    return this == BINARY ? BINARY_FILE_TYPE : compression.getFileType();
+  }
+
+  public String artifactName(Long fileId, BackupCompression compression) {
+    return this == BINARY ? fileId + "." + BINARY_EXTENSION : compression.artifactName(fileId);
+  }
+
+  public static BackupFormat ofFileType(String fileType) {
+    return BINARY_FILE_TYPE.equals(fileType) ? BINARY : CSV;
+  }
+
+  /**
+   * @return compression of an artifact stored with fileType
+   */
+  public static BackupCompression compressionOf(String fileType) {
+    return ofFileType(fileType) == BINARY
+        ? BackupCompression.NONE
+        : BackupCompression.ofFileType(fileType);
+  }
+
+  /**
+   * @return name of the artifact stored with fileType
+   */
+  public static String artifactNameOf(Long fileId, String fileType) {
+    return ofFileType(fileType).artifactName(fileId, compressionOf(fileType));
+  }
+}
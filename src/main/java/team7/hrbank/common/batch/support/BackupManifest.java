@@ -0,0 +1,62 @@
+package team7.hrbank.common.batch.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+/**
+ * Integrity manifest of a backup artifact, stored next to it as {fileId}.manifest.json
+ * <br>
+ * Blocks are the units the artifact was written in (chunks in STREAM mode, part files in MERGE
+ * mode), each with its CRC32C, so the artifact can be checked block by block in parallel
+ *
+ * @param rows  rows written into the artifact
+ * @param bytes size of the artifact
+ */
+public record BackupManifest(
+    int version,
+    long rows,
+    long bytes,
+    List<PartitionRange> partitions,
+    List<Block> blocks
+) {
+
+  public static final int VERSION = 1;
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  public record PartitionRange(String partitionId, long offset, long length, long rows) {
+  }
+
+  public record Block(long offset, long length, long crc32c) {
+  }
+
+  public static String fileName(Long fileId) {
+    return fileId + ".manifest.json";
+  }
+
+  public void write(Path path) throws IOException {
+    MAPPER.writeValue(path.toFile(), this);
+  }
+
+  public static BackupManifest read(Path path) throws IOException {
+    return MAPPER.readValue(path.toFile(), BackupManifest.class);
+  }
+
+  /**
+   * Rows written by each partition step of the job, by partition id (P0, P1 ...)
+   */
+  public static Map<String, Long> partitionRows(JobExecution jobExecution) {
+    Map<String, Long> rows = new HashMap<>();
+    for (StepExecution step : jobExecution.getStepExecutions()) {
+      if (step.getExecutionContext().containsKey("partitionId")) {
+        rows.put(step.getExecutionContext().getString("partitionId"), step.getWriteCount());
+      }
+    }
+    return rows;
+  }
+}
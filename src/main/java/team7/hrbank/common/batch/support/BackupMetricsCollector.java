@@ -0,0 +1,104 @@
+package team7.hrbank.common.batch.support;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import team7.hrbank.domain.backup.dto.BackupMetrics;
+import team7.hrbank.domain.backup.dto.BackupMetrics.PartitionMetrics;
+
+/**
+ * Builds {@link BackupMetrics} of a finished backup job from its step executions
+ * <br>
+ * Partition steps (backupStep:partitionN) provide the values recorded by
+ * {@link BackupMetricsListener}, merge / stream close steps provide merge time, and the single
+ * step of an incremental backup counts as write time
+ */
+public final class BackupMetricsCollector {
+
+  private static final String PARTITION_STEP_PREFIX = "backupStep:";
+  private static final Set<String> MERGE_STEPS = Set.of("mergeCsvStep", "closeBackupStreamStep");
+  private static final Set<String> SINGLE_STEPS = Set.of("incrementalBackupStep");
+
+  private BackupMetricsCollector() {
+  }
+
+  /**
+   * @param artifactBytes size of the final backup file, 0 to sum the bytes of partitions
+   */
+  public static BackupMetrics collect(JobExecution execution, long artifactBytes) {
+    List<PartitionMetrics> partitions = new ArrayList<>();
+    long rowsRead = 0;
+    long rowsWritten = 0;
+    long readMillis = 0;
+    long writeMillis = 0;
+    long mergeMillis = 0;
+    long retries = 0;
+    long partitionBytes = 0;
+
+    for (StepExecution step : execution.getStepExecutions()) {
+      String name = step.getStepName();
+      if (name.startsWith(PARTITION_STEP_PREFIX)) {
+        PartitionMetrics partition = partition(step);
+        partitions.add(partition);
+        rowsRead += partition.rowsRead();
+        rowsWritten += partition.rowsWritten();
+        readMillis += partition.readMillis();
+        writeMillis += partition.writeMillis();
+        retries += partition.retries();
+        partitionBytes += partition.bytesWritten();
+      } else if (MERGE_STEPS.contains(name)) {
+        mergeMillis += millisBetween(step.getStartTime(), step.getEndTime());
+      } else if (SINGLE_STEPS.contains(name)) {
+        rowsRead += step.getWriteCount();
+        rowsWritten += step.getWriteCount();
+        writeMillis += millisBetween(step.getStartTime(), step.getEndTime());
+      }
+    }
+    partitions.sort(Comparator.comparingInt(partition -> partitionIndex(partition.partitionId())));
+
+    long totalMillis = millisBetween(execution.getStartTime(), execution.getEndTime());
+    double rowsPerSecond = totalMillis == 0 ? 0 : rowsWritten * 1000.0 / totalMillis;
+
+    long bytesWritten = artifactBytes > 0 ? artifactBytes : partitionBytes;
+    return new BackupMetrics(rowsRead, rowsWritten, bytesWritten, totalMillis, readMillis,
+        writeMillis, mergeMillis, rowsPerSecond, retries, partitions);
+  }
+
+  private static PartitionMetrics partition(StepExecution step) {
+    ExecutionContext context = step.getExecutionContext();
+    return new PartitionMetrics(
+        context.getString("partitionId", step.getStepName()),
+        step.getReadCount(),
+        step.getWriteCount(),
+        context.getLong(BackupMetricsListener.BYTES_WRITTEN, 0L),
+        context.getLong(BackupMetricsListener.READ_NANOS, 0L) / 1_000_000,
+        context.getLong(BackupMetricsListener.WRITE_NANOS, 0L) / 1_000_000,
+        context.getDouble(BackupMetricsListener.CHUNK_READ_P50, 0.0),
+        context.getDouble(BackupMetricsListener.CHUNK_READ_P95, 0.0),
+        context.getDouble(BackupMetricsListener.CHUNK_READ_P99, 0.0),
+        context.getLong(BackupMetricsListener.RETRIES, 0L),
+        step.getRollbackCount()
+    );
+  }
+
+  private static int partitionIndex(String partitionId) {
+    try {
+      return OrderedSinkItemWriter.partitionIndex(partitionId);
+    } catch (RuntimeException e) {
+      return Integer.MAX_VALUE;
+    }
+  }
+
+  private static long millisBetween(LocalDateTime start, LocalDateTime end) {
+    if (start == null) {
+      return 0;
+    }
+    return Duration.between(start, end == null ? LocalDateTime.now() : end).toMillis();
+  }
+}
@@ -0,0 +1,102 @@
+package team7.hrbank.common.batch.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+
+/**
+ * Collects timings of one backup partition
+ * <br>
+ * Read time is measured from chunk start to write start, write time from write start to write end.
+ * Results are stored in the execution context of the partition step under metrics.*, and read by
+ * {@link BackupMetricsCollector}
+ * <br>
+ * One instance per partition step execution (step scope), so no synchronization is needed
+ */
+public class BackupMetricsListener implements StepExecutionListener, ChunkListener,
+    ItemWriteListener<EmployeeDepartmentDto>, RetryListener {
+
+  public static final String READ_NANOS = "metrics.readNanos";
+  public static final String WRITE_NANOS = "metrics.writeNanos";
+  public static final String BYTES_WRITTEN = "metrics.bytesWritten";
+  public static final String RETRIES = "metrics.retries";
+  public static final String CHUNK_READ_P50 = "metrics.chunkReadP50Millis";
+  public static final String CHUNK_READ_P95 = "metrics.chunkReadP95Millis";
+  public static final String CHUNK_READ_P99 = "metrics.chunkReadP99Millis";
+
+  private final ToLongFunction<String> bytesOfPartition;
+
+  private final List<Long> chunkReadNanos = new ArrayList<>();
+  private long chunkStart;
+  private long writeStart;
+  private long readNanos;
+  private long writeNanos;
+  private long retries;
+
+  /**
+   * @param bytesOfPartition bytes written by the partition, by partition id
+   */
+  public BackupMetricsListener(ToLongFunction<String> bytesOfPartition) {
+    this.bytesOfPartition = bytesOfPartition;
+  }
+
+  @Override
+  public void beforeChunk(ChunkContext context) {
+    chunkStart = System.nanoTime();
+  }
+
+  @Override
+  public void beforeWrite(Chunk<? extends EmployeeDepartmentDto> items) {
+    writeStart = System.nanoTime();
+    long elapsed = writeStart - chunkStart;
+    readNanos += elapsed;
+    chunkReadNanos.add(elapsed);
+  }
+
+  @Override
+  public void afterWrite(Chunk<? extends EmployeeDepartmentDto> items) {
+    writeNanos += System.nanoTime() - writeStart;
+  }
+
+  @Override
+  public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+      Throwable throwable) {
+    retries++;
+  }
+
+  @Override
+  public ExitStatus afterStep(StepExecution stepExecution) {
+    ExecutionContext context = stepExecution.getExecutionContext();
+    context.putLong(READ_NANOS, readNanos);
+    context.putLong(WRITE_NANOS, writeNanos);
+    context.putLong(RETRIES, retries);
+    context.putLong(BYTES_WRITTEN, bytesOfPartition.applyAsLong(context.getString("partitionId")));
+
+    Collections.sort(chunkReadNanos);
+    context.putDouble(CHUNK_READ_P50, percentileMillis(0.50));
+    context.putDouble(CHUNK_READ_P95, percentileMillis(0.95));
+    context.putDouble(CHUNK_READ_P99, percentileMillis(0.99));
+    return stepExecution.getExitStatus();
+  }
+
+  private double percentileMillis(double percentile) {
+    if (chunkReadNanos.isEmpty()) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * chunkReadNanos.size()) - 1;
+    return chunkReadNanos.get(Math.max(index, 0)) / 1_000_000.0;
+  }
+}
@@ -0,0 +1,12 @@
+package team7.hrbank.common.batch.support;
+
+/**
+ * How employeeBackupJob produces its artifact
+ * <br>
+ * MERGE : every partition writes temp part files, mergeCsvStep concatenates them
+ * <br>
+ * STREAM : every partition streams chunks into the final artifact through {@link OrderedBackupSink}
+ */
+public enum BackupOutputMode {
+  MERGE, STREAM
+}
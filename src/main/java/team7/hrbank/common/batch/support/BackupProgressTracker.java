@@ -0,0 +1,161 @@
+package team7.hrbank.common.batch.support;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongBiFunction;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import team7.hrbank.domain.backup.dto.BackupProgressDto;
+import team7.hrbank.domain.backup.dto.BackupProgressDto.PartitionProgress;
+
+/**
+ * Keeps the job execution of every running backup, keyed by backup id, to report its progress
+ * <br>
+ * Partition step executions are created on the same job execution and their counts are updated
+ * in place after every chunk, so progress is read from memory without querying the job repository
+ * <br>
+ * Executions are kept after the job ends until {@link #forget(Long)}, while the artifact is
+ * verified and stored
+ */
+public class BackupProgressTracker implements JobExecutionListener {
+
+  private static final String PARTITION_STEP_PREFIX = "backupStep:";
+  private static final String INCREMENTAL_STEP = "incrementalBackupStep";
+  private static final String ROW_COUNT = "rowCount";
+
+  private final Map<Long, JobExecution> executions = new ConcurrentHashMap<>();
+  private final ToLongBiFunction<Long, String> bytesOfPartition;
+
+  /**
+   * @param bytesOfPartition bytes written so far by a running partition, by backup id and
+   *                         partition id
+   */
+  public BackupProgressTracker(ToLongBiFunction<Long, String> bytesOfPartition) {
+    this.bytesOfPartition = bytesOfPartition;
+  }
+
+  @Override
+  public void beforeJob(JobExecution jobExecution) {
+    Long backupId = jobExecution.getJobParameters().getLong("backupId");
+    if (backupId != null) {
+      executions.put(backupId, jobExecution);
+    }
+  }
+
+  public void forget(Long backupId) {
+    executions.remove(backupId);
+  }
+
+  public Optional<BackupProgressDto> progress(Long backupId) {
+    JobExecution execution = executions.get(backupId);
+    if (execution == null) {
+      return Optional.empty();
+    }
+
+    List<PartitionProgress> partitions = new ArrayList<>();
+    long rowsTotal = 0;
+    long rowsWritten = 0;
+    long bytesWritten = 0;
+    int completed = 0;
+    LocalDateTime firstStart = null;
+
+    for (StepExecution step : execution.getStepExecutions()) {
+      if (step.getStepName().equals(INCREMENTAL_STEP)) {
+        // 증분 백업은 단일 tasklet 이라 완료 시에만 행 수가 기록됨
+        rowsWritten += step.getWriteCount();
+        continue;
+      }
+      if (!step.getStepName().startsWith(PARTITION_STEP_PREFIX)) {
+        continue;
+      }
+      PartitionProgress partition = partition(backupId, step);
+      partitions.add(partition);
+      rowsTotal += partition.rowsTotal();
+      rowsWritten += partition.rowsWritten();
+      bytesWritten += partition.bytesWritten();
+      if (partition.status() == BatchStatus.COMPLETED) {
+        completed++;
+      }
+      if (step.getStartTime() != null
+          && (firstStart == null || step.getStartTime().isBefore(firstStart))) {
+        firstStart = step.getStartTime();
+      }
+    }
+    partitions.sort(Comparator.comparingInt(partition -> partitionIndex(partition.partitionId())));
+
+    Long eta = null;
+    if (firstStart != null && rowsWritten > 0 && rowsTotal > 0) {
+      long partitionMillis = millisBetween(firstStart, LocalDateTime.now());
+      eta = Math.max(0, rowsTotal - rowsWritten) * partitionMillis / rowsWritten;
+    }
+
+    return Optional.of(new BackupProgressDto(
+        backupId,
+        execution.getStatus(),
+        partitions.size(),
+        completed,
+        partitions.isEmpty() ? null : rowsTotal,
+        rowsWritten,
+        bytesWritten,
+        millisBetween(execution.getStartTime(), execution.getEndTime()),
+        eta,
+        partitions
+    ));
+  }
+
+  private PartitionProgress partition(Long backupId, StepExecution step) {
+    ExecutionContext context = step.getExecutionContext();
+    String partitionId = context.getString("partitionId", step.getStepName());
+    return new PartitionProgress(
+        partitionId,
+        step.getStatus(),
+        context.getLong(ROW_COUNT, 0L),
+        step.getWriteCount(),
+        bytes(backupId, partitionId, step)
+    );
+  }
+
+  /**
+   * Finished partitions have their bytes recorded by {@link BackupMetricsListener}, running ones
+   * are measured
+   */
+  private long bytes(Long backupId, String partitionId, StepExecution step) {
+    ExecutionContext context = step.getExecutionContext();
+    if (context.containsKey(BackupMetricsListener.BYTES_WRITTEN)) {
+      return context.getLong(BackupMetricsListener.BYTES_WRITTEN);
+    }
+    if (step.getStatus() != BatchStatus.STARTED) {
+      return 0;
+    }
+    try {
+      return bytesOfPartition.applyAsLong(backupId, partitionId);
+    } catch (RuntimeException e) {
+      // 스트림이 이미 닫혔거나 파트 파일이 정리된 경우
+      return 0;
+    }
+  }
+
+  private static int partitionIndex(String partitionId) {
+    try {
+      return OrderedSinkItemWriter.partitionIndex(partitionId);
+    } catch (RuntimeException e) {
+      return Integer.MAX_VALUE;
+    }
+  }
+
+  private static long millisBetween(LocalDateTime start, LocalDateTime end) {
+    if (start == null) {
+      return 0;
+    }
+    return Duration.between(start, end == null ? LocalDateTime.now() : end).toMillis();
+  }
+}
@@ -0,0 +1,12 @@
+package team7.hrbank.common.batch.support;
+
+/**
+ * How each backup partition reads employees
+ * <br>
+ * PAGING : JdbcPagingItemReader, one keyset query per page
+ * <br>
+ * CURSOR : JdbcCursorItemReader, one forward-only server-side cursor per partition
+ */
+public enum BackupReaderMode {
+  PAGING, CURSOR
+}
@@ -0,0 +1,65 @@
+package team7.hrbank.common.batch.support;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import team7.hrbank.common.exception.BackupException;
+import team7.hrbank.common.exception.ErrorCode;
+
+/**
+ * Holds the {@link OrderedBackupSink} of every running streamed backup, keyed by backup id
+ */
+@Component
+public class BackupSinkRegistry {
+
+  private final Map<Long, OrderedBackupSink> sinks = new ConcurrentHashMap<>();
+
+  @Value("${hrbank.backup.stream.buffer-limit:67108864}")
+  private long bufferLimit;
+
+  public OrderedBackupSink open(Long backupId, Path target, byte[] header) throws IOException {
+    OrderedBackupSink sink = new OrderedBackupSink(target, header, bufferLimit);
+    if (sinks.putIfAbsent(backupId, sink) != null) {
+      sink.abort();
+      throw new BackupException(ErrorCode.BACKUP_FAILED,
+          "Backup stream already opened for backup " + backupId);
+    }
+    return sink;
+  }
+
+  public OrderedBackupSink get(Long backupId) {
+    OrderedBackupSink sink = sinks.get(backupId);
+    if (sink == null) {
+      throw new BackupException(ErrorCode.BACKUP_FAILED,
+          "No backup stream opened for backup " + backupId);
+    }
+    return sink;
+  }
+
+  /**
+   * Completes the artifact and forgets the sink
+   *
+   * @return size of the artifact in bytes
+   */
+  public long close(Long backupId) throws IOException {
+    OrderedBackupSink sink = get(backupId);
+    try {
+      return sink.close();
+    } finally {
+      sinks.remove(backupId);
+    }
+  }
+
+  /**
+   * Releases the sink if the job ended without closing it
+   */
+  public void discard(Long backupId) {
+    OrderedBackupSink sink = sinks.remove(backupId);
+    if (sink != null) {
+      sink.abort();
+    }
+  }
+}
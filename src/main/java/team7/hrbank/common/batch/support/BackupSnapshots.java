@@ -0,0 +1,145 @@
+package team7.hrbank.common.batch.support;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.batch.BatchDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+import team7.hrbank.common.exception.BackupException;
+import team7.hrbank.common.exception.ErrorCode;
+
+/**
+ * Exported PostgreSQL snapshots of running snapshot backups, keyed by backup id
+ * <br>
+ * The coordinator transaction (REPEATABLE READ, READ ONLY) is kept open on its own connection
+ * until the backup ends, since an exported snapshot is only importable while the exporting
+ * transaction is alive. Every connection taken from {@link #dataSource(String)} imports the same
+ * snapshot with SET TRANSACTION SNAPSHOT, so all partitions and tables see one point in time
+ * <br>
+ * Those connections are not the chunk transaction's, so a partition reading the snapshot holds
+ * two connections, see {@link BatchConnectionBudget}
+ */
+@Slf4j
+@Component
+public class BackupSnapshots {
+
+  public static final String SNAPSHOT_ID = "snapshotId";
+
+  // pg_export_snapshot() 형식 (예: 00000003-0000001B-1), SET 문에 그대로 들어가므로 검증
+  private static final Pattern SNAPSHOT_ID_PATTERN = Pattern.compile("^[0-9A-Fa-f-]+$");
+
+  private final DataSource dataSource;
+  private final Map<Long, Connection> coordinators = new ConcurrentHashMap<>();
+
+  public BackupSnapshots(@BatchDataSource DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Opens the coordinator transaction of a backup and exports its snapshot
+   *
+   * @return snapshot id to import in workers
+   */
+  public String export(Long backupId) {
+    Connection connection = null;
+    try {
+      connection = dataSource.getConnection();
+      connection.setAutoCommit(false);
+      connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+      connection.setReadOnly(true);
+      String snapshotId;
+      try (Statement statement = connection.createStatement();
+          ResultSet rs = statement.executeQuery("SELECT pg_export_snapshot()")) {
+        rs.next();
+        snapshotId = rs.getString(1);
+      }
+
+      if (coordinators.putIfAbsent(backupId, connection) != null) {
+        throw new BackupException(ErrorCode.BACKUP_FAILED,
+            "Snapshot already exported for backup " + backupId);
+      }
+      log.info("Backup {} reads snapshot {}", backupId, snapshotId);
+      return snapshotId;
+    } catch (SQLException | RuntimeException e) {
+      closeQuietly(connection);
+      throw new BackupException(ErrorCode.BACKUP_FAILED,
+          "Error exporting backup snapshot : " + e.getMessage());
+    }
+  }
+
+  /**
+   * Ends the coordinator transaction, the snapshot can no longer be imported afterwards
+   */
+  public void release(Long backupId) {
+    Connection connection = coordinators.remove(backupId);
+    if (connection != null) {
+      closeQuietly(connection);
+    }
+  }
+
+  /**
+   * @return data source whose connections all read snapshotId, or the plain data source when
+   * snapshotId is null
+   */
+  public DataSource dataSource(String snapshotId) {
+    if (snapshotId == null) {
+      return dataSource;
+    }
+    if (!SNAPSHOT_ID_PATTERN.matcher(snapshotId).matches()) {
+      throw new BackupException(ErrorCode.BACKUP_FAILED, "Invalid snapshot id : " + snapshotId);
+    }
+    return new SnapshotDataSource(dataSource, snapshotId);
+  }
+
+  private static void closeQuietly(Connection connection) {
+    if (connection == null) {
+      return;
+    }
+    try {
+      connection.rollback();
+      connection.close();
+    } catch (SQLException e) {
+      log.warn("Failed to close snapshot connection: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Opens every connection in a read only REPEATABLE READ transaction on the exported snapshot
+   * <br>
+   * The transaction stays open until the connection is returned to the pool, where it is rolled
+   * back and the connection settings are reset
+   */
+  private static class SnapshotDataSource extends DelegatingDataSource {
+
+    private final String setSnapshotSql;
+
+    private SnapshotDataSource(DataSource target, String snapshotId) {
+      super(target);
+      this.setSnapshotSql = "SET TRANSACTION SNAPSHOT '" + snapshotId + "'";
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      Connection connection = super.getConnection();
+      try {
+        connection.setAutoCommit(false);
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setReadOnly(true);
+        try (Statement statement = connection.createStatement()) {
+          statement.execute(setSnapshotSql);
+        }
+        return connection;
+      } catch (SQLException e) {
+        connection.close();
+        throw e;
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package team7.hrbank.common.batch.support;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Working directory of one backup run, {root-path}/work/{backupId}
+ * <br>
+ * Part files and the merged file of a run live only in its workspace, so overlapping backups never
+ * see each other's temp files. The workspace is removed when the run finishes
+ */
+@Slf4j
+@Component
+public class BackupWorkspace {
+
+  private final Path root;
+  private final String mergedFileName;
+
+  public BackupWorkspace(
+      @Value("${hrbank.storage.local.root-path}") String rootPath,
+      @Value("${hrbank.storage.file-name}") String mergedFileName) {
+    this.root = Path.of(rootPath, "work");
+    this.mergedFileName = Path.of(mergedFileName).getFileName().toString();
+  }
+
+  public Path dir(Long backupId) {
+    return root.resolve(String.valueOf(backupId));
+  }
+
+  /**
+   * Creates an empty workspace, dropping leftovers of a previous attempt with the same id
+   */
+  public Path prepare(Long backupId) throws IOException {
+    Path dir = dir(backupId);
+    deleteRecursively(dir);
+    return Files.createDirectories(dir);
+  }
+
+  public Path mergedFile(Long backupId) {
+    return dir(backupId).resolve(mergedFileName);
+  }
+
+  public void cleanup(Long backupId) {
+    try {
+      deleteRecursively(dir(backupId));
+    } catch (IOException e) {
+      log.warn("Failed to clean up backup workspace {}: {}", backupId, e.getMessage());
+    }
+  }
+
+  /**
+   * Removes workspaces left behind by crashed runs
+   *
+   * @param staleAfter workspaces not modified for this long are removed
+   */
+  public void cleanupStale(Duration staleAfter) {
+    if (!Files.isDirectory(root)) {
+      return;
+    }
+    Instant threshold = Instant.now().minus(staleAfter);
+    try (Stream<Path> dirs = Files.list(root)) {
+      dirs.filter(dir -> isOlderThan(dir, threshold))
+          .forEach(dir -> {
+            try {
+              deleteRecursively(dir);
+              log.info("cleaned up: {}", dir.toAbsolutePath());
+            } catch (IOException e) {
+              log.warn("Failed to clean up: {}", dir.toAbsolutePath());
+            }
+          });
+    } catch (IOException e) {
+      log.warn("Failed to list backup workspaces: {}", e.getMessage());
+    }
+  }
+
+  private static boolean isOlderThan(Path dir, Instant threshold) {
+    try {
+      return Files.getLastModifiedTime(dir).toInstant().isBefore(threshold);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static void deleteRecursively(Path dir) throws IOException {
+    if (!Files.exists(dir)) {
+      return;
+    }
+    Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path current, IOException exc) throws IOException {
+        Files.delete(current);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+}
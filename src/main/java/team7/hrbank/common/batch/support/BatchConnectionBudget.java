@@ -0,0 +1,46 @@
+package team7.hrbank.common.batch.support;
+
+/**
+ * Batch pool connections held by one backup partition, and how many partitions the pool can run
+ * at once
+ * <br>
+ * Every partition holds the connection of its chunk transaction. It holds a second one when its
+ * reader does not read through that transaction : a CURSOR reader keeps its own connection open
+ * for the whole partition, and in snapshot mode every reader reads through
+ * {@link BackupSnapshots#dataSource(String)}, whose connections are opened on the exported
+ * snapshot and are never the chunk transaction's
+ */
+public final class BatchConnectionBudget {
+
+  private BatchConnectionBudget() {
+  }
+
+  public static int connectionsPerPartition(BackupReaderMode readerMode, boolean snapshot) {
+    return readerMode == BackupReaderMode.CURSOR || snapshot ? 2 : 1;
+  }
+
+  /**
+   * Connections the batch pool can give partition workers
+   * <br>
+   * In snapshot mode two connections are held outside partitions for the whole backup : the
+   * coordinator transaction that exported the snapshot, and the transaction of the
+   * snapshotTablesStep tasklet running next to the partitions. Its table dumps run on the
+   * partition executor and are charged one connection each
+   *
+   * @param poolSize maximum size of the batch pool
+   * @param reserved connections left for job metadata and other work outside partitions
+   * @return connection budget of the partition executor, at least 1
+   */
+  public static int connections(int poolSize, int reserved, boolean snapshot) {
+    return Math.max(1, poolSize - reserved - (snapshot ? 2 : 0));
+  }
+
+  /**
+   * @return backup partitions that can run at once, at least 1
+   */
+  public static int partitions(int poolSize, int reserved, BackupReaderMode readerMode,
+      boolean snapshot) {
+    return Math.max(1, connections(poolSize, reserved, snapshot)
+        / connectionsPerPartition(readerMode, snapshot));
+  }
+}
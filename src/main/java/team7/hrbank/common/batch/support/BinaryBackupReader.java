@@ -0,0 +1,141 @@
+package team7.hrbank.common.batch.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+import team7.hrbank.domain.employee.entity.EmployeeStatus;
+
+/**
+ * Streams employees back from the binary backup format written by {@link BinaryChunkEncoder}
+ * <br>
+ * Only one block is held in memory at a time
+ */
+public class BinaryBackupReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final EmployeeStatus[] STATUSES = EmployeeStatus.values();
+
+  private final DataInputStream in;
+
+  private ByteBuffer block;
+  private String[] dictionary;
+  private long remainingRows;
+  private long previousId;
+
+  /**
+   * @param in    stream positioned at the start of the file, or at the start of a block
+   * @param magic whether the stream starts with the file magic
+   */
+  public BinaryBackupReader(InputStream in, boolean magic) throws IOException {
+    this.in = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+    if (magic) {
+      byte[] header = new byte[BinaryChunkEncoder.MAGIC.length];
+      this.in.readFully(header);
+      if (!Arrays.equals(header, BinaryChunkEncoder.MAGIC)) {
+        throw new IOException("Not a binary backup file");
+      }
+    }
+  }
+
+  /**
+   * @return next employee, null at the end of the stream
+   */
+  public EmployeeDepartmentDto read() throws IOException {
+    while (remainingRows == 0) {
+      if (!nextBlock()) {
+        return null;
+      }
+    }
+    remainingRows--;
+
+    long id = previousId + BinaryChunkEncoder.unzigzag(readVarint());
+    previousId = id;
+    String employeeNumber = readEmployeeNumber();
+    String name = readString();
+    String email = readString();
+    String department = readIndex();
+    String position = readIndex();
+    int status = block.get();
+    long hireDate = readVarint();
+
+    return new EmployeeDepartmentDto(
+        id,
+        employeeNumber,
+        name,
+        email,
+        position,
+        hireDate == 0 ? null : LocalDate.ofEpochDay(BinaryChunkEncoder.unzigzag(hireDate - 1)),
+        status == BinaryChunkEncoder.NULL_STATUS ? null : STATUSES[status],
+        department
+    );
+  }
+
+  private boolean nextBlock() throws IOException {
+    int length;
+    try {
+      length = in.readInt();
+    } catch (EOFException e) {
+      return false;
+    }
+    byte[] body = new byte[length];
+    in.readFully(body);
+    block = ByteBuffer.wrap(body);
+
+    dictionary = new String[(int) readVarint()];
+    for (int i = 0; i < dictionary.length; i++) {
+      dictionary[i] = readString();
+    }
+    remainingRows = readVarint();
+    previousId = 0;
+    return true;
+  }
+
+  private String readEmployeeNumber() {
+    long year = readVarint();
+    if (year == 0) {
+      return readString();
+    }
+    return String.format("EMP-%d-%03d", year, readVarint());
+  }
+
+  private String readIndex() {
+    long index = readVarint();
+    return index == 0 ? null : dictionary[(int) index - 1];
+  }
+
+  private String readString() {
+    long length = readVarint();
+    if (length == 0) {
+      return null;
+    }
+    String value = new String(block.array(), block.position(), (int) length - 1, UTF_8);
+    block.position(block.position() + (int) length - 1);
+    return value;
+  }
+
+  private long readVarint() {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = block.get();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
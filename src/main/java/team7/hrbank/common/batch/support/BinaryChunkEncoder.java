@@ -0,0 +1,138 @@
+package team7.hrbank.common.batch.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.batch.item.Chunk;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+
+/**
+ * Encodes a chunk into one block of the binary backup format
+ * <br>
+ * File : magic HRB1, then blocks. Block : 4 byte length, then the body
+ * <br>
+ * Body : dictionary (department names and job titles of the block), row count, rows
+ * <br>
+ * Row : id delta, employee number, name, email, department index, job title index, status byte,
+ * hire date as epoch-day
+ * <br>
+ * Numbers are varints. An employee number in the EMP-YYYY-NNN form is stored as year and sequence,
+ * any other employee number is stored as text. Strings and indexes are stored +1, 0 meaning null
+ * <br>
+ * The dictionary is per block rather than per file, so blocks of parallel partitions stay
+ * independent and can be written and restored in any grouping
+ */
+public class BinaryChunkEncoder implements BackupChunkEncoder {
+
+  static final byte[] MAGIC = {'H', 'R', 'B', '1'};
+  static final int NULL_STATUS = 0x7F;
+
+  private static final Pattern EMPLOYEE_NUMBER = Pattern.compile("EMP-(\\d+)-(\\d+)");
+
+  public static byte[] header() {
+    return MAGIC.clone();
+  }
+
+  @Override
+  public byte[] encode(Chunk<? extends EmployeeDepartmentDto> chunk) {
+    Map<String, Integer> dictionary = new LinkedHashMap<>();
+    for (EmployeeDepartmentDto item : chunk) {
+      index(dictionary, item.getDepartmentName());
+      index(dictionary, item.getPosition());
+    }
+
+    ByteArrayOutputStream body = new ByteArrayOutputStream(chunk.size() * 40 + 256);
+    writeVarint(body, dictionary.size());
+    for (String entry : dictionary.keySet()) {
+      writeString(body, entry);
+    }
+
+    writeVarint(body, chunk.size());
+    long previousId = 0;
+    for (EmployeeDepartmentDto item : chunk) {
+      long id = item.getId() == null ? previousId : item.getId();
+      writeVarint(body, zigzag(id - previousId));
+      previousId = id;
+
+      writeEmployeeNumber(body, item.getEmployeeNumber());
+      writeString(body, item.getName());
+      writeString(body, item.getEmail());
+      writeIndex(body, dictionary, item.getDepartmentName());
+      writeIndex(body, dictionary, item.getPosition());
+      body.write(item.getStatus() == null ? NULL_STATUS : item.getStatus().ordinal());
+      if (item.getHireDate() == null) {
+        writeVarint(body, 0);
+      } else {
+        writeVarint(body, zigzag(item.getHireDate().toEpochDay()) + 1);
+      }
+    }
+
+    return ByteBuffer.allocate(4 + body.size())
+        .putInt(body.size())
+        .put(body.toByteArray())
+        .array();
+  }
+
+  private static void index(Map<String, Integer> dictionary, String value) {
+    if (value != null) {
+      dictionary.putIfAbsent(value, dictionary.size());
+    }
+  }
+
+  private static void writeIndex(ByteArrayOutputStream out, Map<String, Integer> dictionary,
+      String value) {
+    writeVarint(out, value == null ? 0 : dictionary.get(value) + 1);
+  }
+
+  /**
+   * year 0 is followed by the employee number as text
+   */
+  private static void writeEmployeeNumber(ByteArrayOutputStream out, String employeeNumber) {
+    if (employeeNumber != null) {
+      Matcher matcher = EMPLOYEE_NUMBER.matcher(employeeNumber);
+      if (matcher.matches() && matcher.group(1).length() <= 9 && matcher.group(2).length() <= 18) {
+        int year = Integer.parseInt(matcher.group(1));
+        long sequence = Long.parseLong(matcher.group(2));
+        // 다시 만들었을 때 같은 문자열인 경우만 (EMP-%d-%03d)
+        if (year > 0 && String.format("EMP-%d-%03d", year, sequence).equals(employeeNumber)) {
+          writeVarint(out, year);
+          writeVarint(out, sequence);
+          return;
+        }
+      }
+    }
+    writeVarint(out, 0);
+    writeString(out, employeeNumber);
+  }
+
+  private static void writeString(ByteArrayOutputStream out, String value) {
+    if (value == null) {
+      writeVarint(out, 0);
+      return;
+    }
+    byte[] bytes = value.getBytes(UTF_8);
+    writeVarint(out, bytes.length + 1L);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  static void writeVarint(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
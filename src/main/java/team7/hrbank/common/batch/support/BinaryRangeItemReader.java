@@ -0,0 +1,61 @@
+package team7.hrbank.common.batch.support;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+
+/**
+ * Streams the blocks of one byte range of a binary backup artifact
+ * <br>
+ * Ranges are aligned to blocks by {@link RestoreFilePartitioner}. Not restartable, restore jobs
+ * are started from scratch
+ */
+public class BinaryRangeItemReader implements ItemStreamReader<RestoreRow> {
+
+  private final Path file;
+  private final long start;
+  private final long end;
+
+  private BinaryBackupReader reader;
+
+  public BinaryRangeItemReader(Path file, long start, long end) {
+    this.file = file;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  public void open(ExecutionContext executionContext) throws ItemStreamException {
+    try {
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.READ).position(start);
+      reader = new BinaryBackupReader(
+          new BoundedInputStream(Channels.newInputStream(channel), end - start), false);
+    } catch (IOException e) {
+      throw new ItemStreamException("Failed to open backup artifact " + file, e);
+    }
+  }
+
+  @Override
+  public RestoreRow read() throws IOException {
+    EmployeeDepartmentDto employee = reader.read();
+    return employee == null ? null : new RestoreRow(false, employee);
+  }
+
+  @Override
+  public void close() throws ItemStreamException {
+    if (reader == null) {
+      return;
+    }
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new ItemStreamException("Failed to close backup artifact " + file, e);
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package team7.hrbank.common.batch.support;
+
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * CRC32C helpers for {@link BackupManifest} blocks
+ */
+public final class BlockChecksums {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private BlockChecksums() {
+  }
+
+  public static long crc32c(byte[] block) {
+    CRC32C crc = new CRC32C();
+    crc.update(block);
+    return crc.getValue();
+  }
+
+  public static long crc32c(Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file)) {
+      return crc32c(in);
+    }
+  }
+
+  public static long crc32c(InputStream in) throws IOException {
+    CRC32C crc = new CRC32C();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    int read;
+    while ((read = in.read(buffer)) > 0) {
+      crc.update(buffer, 0, read);
+    }
+    return crc.getValue();
+  }
+
+  /**
+   * Checksums the next length bytes of in
+   *
+   * @throws EOFException if in ends before length bytes
+   */
+  public static long crc32c(InputStream in, long length) throws IOException {
+    CRC32C crc = new CRC32C();
+    byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(length, 1))];
+    long remaining = length;
+    while (remaining > 0) {
+      int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+      if (read < 0) {
+        throw new EOFException(remaining + " bytes missing");
+      }
+      crc.update(buffer, 0, read);
+      remaining -= read;
+    }
+    return crc.getValue();
+  }
+
+  /**
+   * Cuts everything written through it into fixed size blocks and checksums them on the fly
+   */
+  public static class Output extends FilterOutputStream {
+
+    private final int blockSize;
+    private final List<BackupManifest.Block> blocks = new ArrayList<>();
+    private CRC32C crc = new CRC32C();
+    private long blockStart;
+    private int blockLength;
+
+    public Output(OutputStream out, int blockSize) {
+      super(out);
+      this.blockSize = blockSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      crc.update(b);
+      if (++blockLength == blockSize) {
+        endBlock();
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      while (len > 0) {
+        int part = Math.min(len, blockSize - blockLength);
+        crc.update(b, off, part);
+        blockLength += part;
+        off += part;
+        len -= part;
+        if (blockLength == blockSize) {
+          endBlock();
+        }
+      }
+    }
+
+    /**
+     * @return blocks written so far including the unfinished last block
+     */
+    public List<BackupManifest.Block> blocks() {
+      if (blockLength > 0) {
+        endBlock();
+      }
+      return List.copyOf(blocks);
+    }
+
+    public long size() {
+      return blockStart + blockLength;
+    }
+
+    private void endBlock() {
+      blocks.add(new BackupManifest.Block(blockStart, blockLength, crc.getValue()));
+      blockStart += blockLength;
+      blockLength = 0;
+      crc = new CRC32C();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package team7.hrbank.common.batch.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Stops reading after limit bytes
+ */
+class BoundedInputStream extends InputStream {
+
+  private final InputStream in;
+  private long remaining;
+
+  BoundedInputStream(InputStream in, long limit) {
+    this.in = in;
+    this.remaining = limit;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (remaining <= 0) {
+      return -1;
+    }
+    int b = in.read();
+    if (b >= 0) {
+      remaining--;
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (remaining <= 0) {
+      return -1;
+    }
+    int read = in.read(b, off, (int) Math.min(len, remaining));
+    if (read > 0) {
+      remaining -= read;
+    }
+    return read;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
@@ -0,0 +1,97 @@
+package team7.hrbank.common.batch.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Runs partition workers on a delegate executor, never holding more batch connections at once
+ * than the connection budget
+ * <br>
+ * A partition holds batch pool connections for its whole run, so starting more partitions than
+ * the pool can serve only parks threads inside the pool. Instead, execute blocks the caller (the
+ * partition handler) until enough permits free up, and the wait is recorded as
+ * hrbank.batch.queue.wait. hrbank.batch.partitions.active / waiting and
+ * hrbank.batch.connections.budget / available are exposed as gauges on the given registry
+ * <br>
+ * The budget counts connections. A task submitted through execute holds one, a task submitted
+ * through {@link #withCost(int)} holds as many as its step layout needs, so partitions of
+ * different jobs sharing the executor are each charged what they really hold
+ */
+public class ConnectionBudgetTaskExecutor implements TaskExecutor {
+
+  private final TaskExecutor delegate;
+  private final Semaphore permits;
+  private final int budget;
+  private final Timer queueWait;
+  private final AtomicInteger active;
+  private final AtomicInteger waiting;
+
+  public ConnectionBudgetTaskExecutor(TaskExecutor delegate, int budget,
+      MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.budget = Math.max(1, budget);
+    this.permits = new Semaphore(this.budget, true);
+    this.queueWait = meterRegistry.timer("hrbank.batch.queue.wait");
+    this.active = meterRegistry.gauge("hrbank.batch.partitions.active", new AtomicInteger());
+    this.waiting = meterRegistry.gauge("hrbank.batch.partitions.waiting", new AtomicInteger());
+    Gauge.builder("hrbank.batch.connections.budget", this, ConnectionBudgetTaskExecutor::getBudget)
+        .register(meterRegistry);
+    Gauge.builder("hrbank.batch.connections.available", permits, Semaphore::availablePermits)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    execute(task, 1);
+  }
+
+  /**
+   * @param connections batch connections one task holds while it runs
+   * @return view of this executor charging connections permits per task
+   */
+  public TaskExecutor withCost(int connections) {
+    return task -> execute(task, connections);
+  }
+
+  private void execute(Runnable task, int connections) {
+    // 예산보다 비싼 작업도 혼자서는 실행될 수 있도록 예산으로 제한
+    int cost = Math.min(Math.max(1, connections), budget);
+    long start = System.nanoTime();
+    waiting.incrementAndGet();
+    try {
+      permits.acquire(cost);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TaskRejectedException("Interrupted while waiting for a batch connection", e);
+    } finally {
+      waiting.decrementAndGet();
+    }
+    queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    active.incrementAndGet();
+    try {
+      delegate.execute(() -> {
+        try {
+          task.run();
+        } finally {
+          active.decrementAndGet();
+          permits.release(cost);
+        }
+      });
+    } catch (RuntimeException e) {
+      active.decrementAndGet();
+      permits.release(cost);
+      throw e;
+    }
+  }
+
+  public int getBudget() {
+    return budget;
+  }
+}
@@ -0,0 +1,49 @@
+package team7.hrbank.common.batch.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+import team7.hrbank.common.extractor.EmployeeDepartmentExtractor;
+
+/**
+ * Encodes a whole chunk into one block of CSV lines, same layout as the FlatFileItemWriter output
+ * <br>
+ * With GZIP compression every block becomes its own gzip member, compressed on the caller thread
+ */
+public class CsvChunkEncoder implements BackupChunkEncoder {
+
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
+  private final DelimitedLineAggregator<EmployeeDepartmentDto> aggregator;
+  private final BackupCompression compression;
+
+  public CsvChunkEncoder() {
+    this(BackupCompression.NONE);
+  }
+
+  public CsvChunkEncoder(BackupCompression compression) {
+    this.compression = compression;
+    this.aggregator = new DelimitedLineAggregator<>();
+    this.aggregator.setDelimiter(",");
+    this.aggregator.setFieldExtractor(new EmployeeDepartmentExtractor());
+  }
+
+  public byte[] header(String header) {
+    return pack((header + LINE_SEPARATOR).getBytes(UTF_8));
+  }
+
+  @Override
+  public byte[] encode(Chunk<? extends EmployeeDepartmentDto> chunk) {
+    StringBuilder builder = new StringBuilder(chunk.size() * 96);
+    for (EmployeeDepartmentDto item : chunk) {
+      builder.append(aggregator.aggregate(item)).append(LINE_SEPARATOR);
+    }
+    return pack(builder.toString().getBytes(UTF_8));
+  }
+
+  private byte[] pack(byte[] block) {
+    return compression == BackupCompression.GZIP ? GzipBlocks.compress(block) : block;
+  }
+}
@@ -0,0 +1,133 @@
+package team7.hrbank.common.batch.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+import team7.hrbank.domain.employee.entity.EmployeeStatus;
+
+/**
+ * Streams the rows of one byte range of a backup artifact
+ * <br>
+ * Columns follow the header written by BackupBatchConfig
+ * (id,employeeNumber,name,email,department,position,hireDate,status), prefixed by op for
+ * incremental backups. The id column is ignored, employees are matched by employee number
+ * <br>
+ * Not restartable, restore jobs are started from scratch
+ */
+public class CsvRangeItemReader implements ItemStreamReader<RestoreRow> {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String DELETE = "DELETE";
+
+  private final Path file;
+  private final BackupCompression compression;
+  private final long start;
+  private final long end;
+
+  private BufferedReader reader;
+  private boolean delta;
+
+  /**
+   * @param start first byte of the range, -1 for the whole file including the header
+   * @param end   end of the range (exclusive)
+   */
+  public CsvRangeItemReader(Path file, BackupCompression compression, long start, long end) {
+    this.file = file;
+    this.compression = compression;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  public void open(ExecutionContext executionContext) throws ItemStreamException {
+    try {
+      if (start < 0) {
+        reader = open(Files.newInputStream(file));
+        delta = RestoreFilePartitioner.isDelta(reader.readLine());
+        return;
+      }
+
+      try (BufferedReader header = open(Files.newInputStream(file))) {
+        delta = RestoreFilePartitioner.isDelta(header.readLine());
+      }
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.READ).position(start);
+      InputStream range = new BoundedInputStream(Channels.newInputStream(channel), end - start);
+      reader = new BufferedReader(new InputStreamReader(range, UTF_8), BUFFER_SIZE);
+    } catch (IOException e) {
+      throw new ItemStreamException("Failed to open backup artifact " + file, e);
+    }
+  }
+
+  private BufferedReader open(InputStream in) throws IOException {
+    if (compression == BackupCompression.GZIP) {
+      in = new GZIPInputStream(in, BUFFER_SIZE);
+    }
+    return new BufferedReader(new InputStreamReader(in, UTF_8), BUFFER_SIZE);
+  }
+
+  @Override
+  public RestoreRow read() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+    } while (line.isBlank());
+    return parse(line, delta);
+  }
+
+  /**
+   * Parses one CSV line of a full (delta false) or incremental (delta true) backup
+   */
+  public static RestoreRow parse(String line, boolean delta) {
+    String[] columns = line.split(",", -1);
+    int offset = delta ? 1 : 0;
+    if (columns.length != 8 + offset) {
+      throw new IllegalArgumentException("Malformed backup row : " + line);
+    }
+
+    if (delta && DELETE.equals(columns[0])) {
+      return new RestoreRow(true, new EmployeeDepartmentDto(null, columns[2], null, null, null,
+          null, null, null));
+    }
+
+    EmployeeDepartmentDto employee = new EmployeeDepartmentDto(
+        null,
+        columns[offset + 1],
+        columns[offset + 2],
+        columns[offset + 3],
+        columns[offset + 5],
+        columns[offset + 6].isEmpty() ? null : LocalDate.parse(columns[offset + 6]),
+        EmployeeStatus.valueOf(columns[offset + 7]),
+        columns[offset + 4]
+    );
+    return new RestoreRow(false, employee);
+  }
+
+  @Override
+  public void close() throws ItemStreamException {
+    if (reader == null) {
+      return;
+    }
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new ItemStreamException("Failed to close backup artifact " + file, e);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package team7.hrbank.common.batch.support;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+import team7.hrbank.common.exception.BackupException;
+import team7.hrbank.common.exception.ErrorCode;
+import team7.hrbank.common.extractor.EmployeeRowMapper;
+
+/**
+ * Readers of one backup partition (employee id range), see {@link BackupReaderMode}
+ */
+public final class EmployeeBackupReaders {
+
+  private static final String CURSOR_SQL = """
+      SELECT e.id AS employee_id, e.employee_number, e.name, e.email, e.job_title, e.hire_date,
+             e.status, d.name AS department_name
+      FROM employees e
+      JOIN departments d ON e.department_id = d.id
+      WHERE e.id BETWEEN ? AND ?
+      ORDER BY e.id
+      """;
+
+  private EmployeeBackupReaders() {
+  }
+
+  /**
+   * Creates JdbcPagingItemReader for reading Employee, Department Data with pagination.
+   *
+   * @param minId Minimum employeeID of the partition
+   * @param maxId Maximum employeeID of the partition
+   */
+  public static JdbcPagingItemReader<EmployeeDepartmentDto> paging(DataSource dataSource,
+      Long minId, Long maxId, int fetchSize) {
+    JdbcPagingItemReader<EmployeeDepartmentDto> reader = new JdbcPagingItemReader<>();
+    reader.setDataSource(dataSource);
+    reader.setFetchSize(fetchSize);
+    reader.setRowMapper(new EmployeeRowMapper());
+
+    SqlPagingQueryProviderFactoryBean provider = getSqlPagingQueryProviderFactoryBean(dataSource);
+
+    try {
+      reader.setQueryProvider(provider.getObject());
+    } catch (Exception e) {
+      throw new BackupException(ErrorCode.BACKUP_FAILED, e.getMessage());
+    }
+
+    Map<String, Object> parameterValues = new HashMap<>();
+    parameterValues.put("minId", minId);
+    parameterValues.put("maxId", maxId);
+    reader.setParameterValues(parameterValues);
+
+    return reader;
+  }
+
+  /**
+   * Creates JdbcCursorItemReader streaming the partition through one server-side cursor
+   * <br>
+   * The cursor runs on its own connection with auto commit off, otherwise PostgreSQL ignores the
+   * fetch size and loads the whole result set into memory
+   *
+   * @param minId Minimum employeeID of the partition
+   * @param maxId Maximum employeeID of the partition
+   */
+  public static JdbcCursorItemReader<EmployeeDepartmentDto> cursor(DataSource dataSource,
+      Long minId, Long maxId, int fetchSize) {
+    JdbcCursorItemReader<EmployeeDepartmentDto> reader = new JdbcCursorItemReader<>();
+    reader.setDataSource(dataSource);
+    reader.setSql(CURSOR_SQL);
+    reader.setPreparedStatementSetter(new ArgumentPreparedStatementSetter(new Object[]{minId, maxId}));
+    reader.setRowMapper(new EmployeeRowMapper());
+    reader.setFetchSize(fetchSize);
+    reader.setConnectionAutoCommit(false);
+    return reader;
+  }
+
+  /**
+   * Configures SQL paging query provider for Employee, Department retrieval
+   */
+  private static SqlPagingQueryProviderFactoryBean getSqlPagingQueryProviderFactoryBean(
+      DataSource dataSource) {
+
+    SqlPagingQueryProviderFactoryBean provider = new SqlPagingQueryProviderFactoryBean();
+    provider.setDataSource(dataSource);
+
+    provider.setSelectClause(
+        "employee_id, employee_number, name, email, job_title, hire_date, status, department_name"
+    );
+
+    provider.setFromClause("(SELECT\n"
+        + "    e.id AS employee_id, e.employee_number, e.name, e.email, e.job_title, e.hire_date, e.status, d.name AS department_name\n"
+        + "    FROM employees e\n"
+        + "    JOIN departments d ON e.department_id = d.id\n"
+        + "    WHERE e.id BETWEEN :minId AND :maxId) AS employee_data");
+    provider.setWhereClause("");
+    provider.setSortKeys(Collections.singletonMap("employee_id", Order.ASCENDING));
+    return provider;
+  }
+}
@@ -0,0 +1,152 @@
+package team7.hrbank.common.batch.support;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import team7.hrbank.common.exception.BackupException;
+import team7.hrbank.common.exception.ErrorCode;
+
+/**
+ * Staging table of a restore
+ * <br>
+ * Every backup of the chain is loaded into employees_restore_staging, keyed by employee number,
+ * while employees stays untouched : rows of a later backup overwrite earlier ones and DELETE
+ * tombstones only mark the row deleted. Once every backup is loaded, apply replaces employees with
+ * the staged rows in a single transaction, so a failed restore leaves employees as it was
+ * <br>
+ * apply locks employees against writes (reads go on), checks the staged emails are unique, deletes
+ * employees the chain does not contain, then upserts the staged rows with one statement. Emails
+ * of employees whose email changes are released first, so emails moving between employees never
+ * hit the UNIQUE constraint halfway
+ * <br>
+ * Staged rows equal to the live employee are left untouched. Every employee the restore inserts,
+ * changes or removes gets a change log (CREATED, UPDATED, DELETED) with the restore as memo, so
+ * statistics rebuilt from change_log and the next incremental backup both see the restore
+ */
+public final class EmployeeRestoreStagingTable {
+
+  public static final String STAGING = "employees_restore_staging";
+
+  private static final String CREATE_SQL = """
+      CREATE UNLOGGED TABLE employees_restore_staging (
+        employee_number VARCHAR(50) PRIMARY KEY,
+        department_id BIGINT NULL,
+        name VARCHAR(50) NULL,
+        email VARCHAR(150) NULL,
+        job_title VARCHAR(50) NULL,
+        hire_date TIMESTAMPTZ NULL,
+        status VARCHAR(50) NULL,
+        deleted BOOLEAN NOT NULL
+      )
+      """;
+
+  private static final String DUPLICATE_EMAIL_SQL = """
+      SELECT email FROM employees_restore_staging
+      WHERE NOT deleted
+      GROUP BY email HAVING COUNT(*) > 1
+      ORDER BY email LIMIT 10
+      """;
+
+  // 체인에 없는 사원 삭제, DELETED 변경 로그를 같은 문장에서 남김
+  private static final String DELETE_ABSENT_SQL = """
+      WITH removed AS (
+        DELETE FROM employees e
+        WHERE NOT EXISTS (
+          SELECT 1 FROM employees_restore_staging s
+          WHERE s.employee_number = e.employee_number AND NOT s.deleted
+        )
+        RETURNING employee_number
+      ), logs AS (
+        INSERT INTO change_log (employee_number, type, details, memo, ip_address, capture_date,
+          created_at)
+        SELECT employee_number, 'DELETED', '[]'::jsonb, ?, ?, ?, now() FROM removed
+      )
+      SELECT COUNT(*) FROM removed
+      """;
+
+  // 이메일이 바뀌는 사원의 이메일을 먼저 비워 사원 사이에 이메일이 옮겨가도 UNIQUE 에 걸리지 않게 함
+  // (사원 번호 기반 임시 값, '@' 가 없어 실제 이메일과 겹치지 않음)
+  private static final String RELEASE_EMAILS_SQL = """
+      UPDATE employees e SET email = e.employee_number || ':restoring'
+      FROM employees_restore_staging s
+      WHERE s.employee_number = e.employee_number AND NOT s.deleted AND e.email <> s.email
+      """;
+
+  private static final String APPLY_SQL = """
+      WITH upserted AS (
+        INSERT INTO employees
+          (department_id, employee_number, name, email, job_title, hire_date, status, created_at)
+        SELECT department_id, employee_number, name, email, job_title, hire_date, status, now()
+        FROM employees_restore_staging
+        WHERE NOT deleted
+        ON CONFLICT (employee_number) DO UPDATE SET
+          department_id = EXCLUDED.department_id,
+          name = EXCLUDED.name,
+          email = EXCLUDED.email,
+          job_title = EXCLUDED.job_title,
+          hire_date = EXCLUDED.hire_date,
+          status = EXCLUDED.status,
+          updated_at = now()
+        WHERE (employees.department_id, employees.name, employees.email, employees.job_title,
+            employees.hire_date, employees.status)
+          IS DISTINCT FROM (EXCLUDED.department_id, EXCLUDED.name, EXCLUDED.email,
+            EXCLUDED.job_title, EXCLUDED.hire_date, EXCLUDED.status)
+        RETURNING employee_number, hire_date::date AS hire_date, (xmax = 0) AS inserted
+      ), logs AS (
+        INSERT INTO change_log (employee_number, type, details, memo, ip_address, capture_date,
+          created_at)
+        SELECT employee_number, CASE WHEN inserted THEN 'CREATED' ELSE 'UPDATED' END,
+          '[]'::jsonb, ?, ?, CASE WHEN inserted THEN hire_date END, now()
+        FROM upserted
+      )
+      SELECT COUNT(*) FROM upserted
+      """;
+
+  private static final String RESTORE_IP_ADDRESS = "system";
+
+  private EmployeeRestoreStagingTable() {
+  }
+
+  /**
+   * Creates an empty staging table, dropping one left by a failed restore
+   */
+  public static void prepare(JdbcTemplate jdbcTemplate) {
+    drop(jdbcTemplate);
+    jdbcTemplate.execute(CREATE_SQL);
+  }
+
+  public static void drop(JdbcTemplate jdbcTemplate) {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + STAGING);
+  }
+
+  /**
+   * Replaces employees with the staged rows, must run in one transaction
+   *
+   * @param backupId backup the restore was requested for, used in the change log memo
+   * @return inserted or changed and deleted employees, each of them got one change log
+   */
+  public static Applied apply(JdbcTemplate jdbcTemplate, Long backupId) {
+    jdbcTemplate.execute("LOCK TABLE employees IN EXCLUSIVE MODE");
+
+    List<String> duplicates = jdbcTemplate.queryForList(DUPLICATE_EMAIL_SQL, String.class);
+    if (!duplicates.isEmpty()) {
+      throw new BackupException(ErrorCode.RESTORE_FAILED,
+          "Backup " + backupId + " contains duplicate emails : " + String.join(", ", duplicates));
+    }
+
+    String memo = "백업 " + backupId + " 복원";
+    Long deleted = jdbcTemplate.queryForObject(DELETE_ABSENT_SQL, Long.class, memo,
+        RESTORE_IP_ADDRESS, Date.valueOf(LocalDate.now()));
+    jdbcTemplate.update(RELEASE_EMAILS_SQL);
+    Long restored = jdbcTemplate.queryForObject(APPLY_SQL, Long.class, memo, RESTORE_IP_ADDRESS);
+    return new Applied(restored == null ? 0 : restored, deleted == null ? 0 : deleted);
+  }
+
+  public record Applied(long restored, long deleted) {
+
+    public long changeLogs() {
+      return restored + deleted;
+    }
+  }
+}
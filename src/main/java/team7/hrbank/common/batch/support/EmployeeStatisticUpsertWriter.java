@@ -0,0 +1,44 @@
+package team7.hrbank.common.batch.support;
+
+import java.sql.Date;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatistic;
+
+/**
+ * Writes statistics of every type with one batched upsert per chunk
+ * <br>
+ * Rows are matched by (capture_date, type), so a rebuild overwrites existing statistics in place
+ * <br>
+ * table is the live table, or {@link StatisticStagingTable#STAGING} during a full rebuild
+ */
+public class EmployeeStatisticUpsertWriter implements ItemWriter<EmployeeStatistic> {
+
+  private static final String UPSERT_SQL = """
+      INSERT INTO %s (employee_count, type, capture_date)
+      VALUES (?, ?, ?)
+      ON CONFLICT (capture_date, type) DO UPDATE SET employee_count = EXCLUDED.employee_count
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String upsertSql;
+
+  public EmployeeStatisticUpsertWriter(DataSource dataSource, String table) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.upsertSql = UPSERT_SQL.formatted(table);
+  }
+
+  @Override
+  public void write(Chunk<? extends EmployeeStatistic> chunk) {
+    List<Object[]> rows = chunk.getItems().stream()
+        .map(statistic -> new Object[]{
+            statistic.getEmployeeCount(),
+            statistic.getType().name(),
+            Date.valueOf(statistic.getCaptureDate())})
+        .toList();
+    jdbcTemplate.batchUpdate(upsertSql, rows);
+  }
+}
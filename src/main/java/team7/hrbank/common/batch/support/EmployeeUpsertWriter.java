@@ -0,0 +1,121 @@
+package team7.hrbank.common.batch.support;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+
+/**
+ * Loads restored rows into {@link EmployeeRestoreStagingTable} with one multi-row statement per
+ * chunk
+ * <br>
+ * Rows are matched by employee number, a row of a later backup overwrites the staged one. DELETE
+ * tombstones of incremental backups mark the staged row deleted. employees itself is only changed
+ * when the whole chain is staged, see {@link EmployeeRestoreStagingTable#apply}
+ * <br>
+ * Staged upserts and deletes are stored in the step execution context as restore.upserts and
+ * restore.deletes
+ */
+public class EmployeeUpsertWriter implements ItemStreamWriter<RestoreRow> {
+
+  public static final String UPSERTS = "restore.upserts";
+  public static final String DELETES = "restore.deletes";
+
+  private static final String STAGE_PREFIX = """
+      INSERT INTO employees_restore_staging
+        (department_id, employee_number, name, email, job_title, hire_date, status, deleted)
+      VALUES
+      """;
+  private static final String STAGE_ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String STAGE_SUFFIX = """
+
+      ON CONFLICT (employee_number) DO UPDATE SET
+        department_id = EXCLUDED.department_id,
+        name = EXCLUDED.name,
+        email = EXCLUDED.email,
+        job_title = EXCLUDED.job_title,
+        hire_date = EXCLUDED.hire_date,
+        status = EXCLUDED.status,
+        deleted = EXCLUDED.deleted
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final RestoreDepartmentResolver departments;
+  // 가장 많이 쓰이는 크기(청크 크기)의 SQL 재사용
+  private final Map<Integer, String> stageSql = new HashMap<>();
+
+  private long upserts;
+  private long deletes;
+
+  public EmployeeUpsertWriter(DataSource dataSource, RestoreDepartmentResolver departments) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.departments = departments;
+  }
+
+  @Override
+  public void write(Chunk<? extends RestoreRow> chunk) {
+    // 한 문장 안에서 같은 사원 번호가 두 번 갱신될 수 없으므로 마지막 행만 남김
+    Map<String, RestoreRow> latest = new LinkedHashMap<>();
+    for (RestoreRow row : chunk) {
+      latest.remove(row.employee().getEmployeeNumber());
+      latest.put(row.employee().getEmployeeNumber(), row);
+    }
+    if (latest.isEmpty()) {
+      return;
+    }
+
+    jdbcTemplate.update(stageSql(latest.size()), stageArgs(latest.values()));
+    for (RestoreRow row : latest.values()) {
+      if (row.delete()) {
+        deletes++;
+      } else {
+        upserts++;
+      }
+    }
+  }
+
+  private String stageSql(int rows) {
+    return stageSql.computeIfAbsent(rows, size ->
+        STAGE_PREFIX + String.join(",\n", Collections.nCopies(size, STAGE_ROW)) + STAGE_SUFFIX);
+  }
+
+  private Object[] stageArgs(Collection<RestoreRow> rows) {
+    Object[] args = new Object[rows.size() * 8];
+    int i = 0;
+    for (RestoreRow row : rows) {
+      EmployeeDepartmentDto employee = row.employee();
+      if (row.delete()) {
+        // 삭제 표시만 남기고 나머지 열은 비워 둠
+        i++;
+        args[i++] = employee.getEmployeeNumber();
+        i += 5;
+        args[i++] = true;
+        continue;
+      }
+      args[i++] = departments.resolve(employee.getDepartmentName());
+      args[i++] = employee.getEmployeeNumber();
+      args[i++] = employee.getName();
+      args[i++] = employee.getEmail();
+      args[i++] = employee.getPosition();
+      args[i++] = employee.getHireDate() == null ? null : Date.valueOf(employee.getHireDate());
+      args[i++] = employee.getStatus().name();
+      args[i++] = false;
+    }
+    return args;
+  }
+
+  @Override
+  public void update(ExecutionContext executionContext) throws ItemStreamException {
+    executionContext.putLong(UPSERTS, upserts);
+    executionContext.putLong(DELETES, deletes);
+  }
+}
@@ -0,0 +1,50 @@
+package team7.hrbank.common.batch.support;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses backup blocks into standalone gzip members
+ * <br>
+ * Concatenated members form a valid gzip stream, so blocks can be compressed on different threads
+ * and simply appended in order
+ */
+public final class GzipBlocks {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private GzipBlocks() {
+  }
+
+  public static byte[] compress(byte[] block) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(block.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE)) {
+      gzip.write(block);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Compresses source into a single gzip member at target
+   *
+   * @return size of target in bytes
+   */
+  public static long compressFile(Path source, Path target) throws IOException {
+    try (OutputStream out = new GZIPOutputStream(
+        Files.newOutputStream(target, CREATE, WRITE, TRUNCATE_EXISTING), BUFFER_SIZE)) {
+      Files.copy(source, out);
+    }
+    return Files.size(target);
+  }
+}
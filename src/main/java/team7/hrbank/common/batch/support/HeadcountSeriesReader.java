@@ -0,0 +1,84 @@
+package team7.hrbank.common.batch.support;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import org.springframework.batch.item.ItemReader;
+import team7.hrbank.domain.change_log.dto.HeadcountDeltaDto;
+import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatistic;
+import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatisticType;
+
+/**
+ * Emits statistics of every day from from to to, as running sums of headcount deltas
+ * <br>
+ * Deltas are consumed in capture date order while the date advances, so the whole series costs
+ * one pass over the deltas plus one step per day. Deltas before from are summed into the first day
+ * <br>
+ * Every requested type is rolled up from the same daily headcount : a statistic is emitted on the
+ * last day of its bucket (or on seriesEnd, for the current bucket), dated at the start of the bucket
+ * <br>
+ * A reader over part of the series (from / to inside seriesEnd) only emits the buckets that end in
+ * its range, so readers over adjacent ranges never emit the same statistic
+ * <br>
+ * A negative headcount (deletions without a recorded hire) is reported as 0
+ */
+public class HeadcountSeriesReader implements ItemReader<EmployeeStatistic> {
+
+  private final Iterator<HeadcountDeltaDto> deltas;
+  private final LocalDate to;
+  private final LocalDate seriesEnd;
+  private final Set<EmployeeStatisticType> types;
+  private final Deque<EmployeeStatistic> ready = new ArrayDeque<>();
+  private HeadcountDeltaDto pending;
+  private LocalDate date;
+  private long headcount;
+
+  /**
+   * @param deltas deltas ordered by capture date
+   * @param types  statistic types to emit
+   */
+  public HeadcountSeriesReader(List<HeadcountDeltaDto> deltas, LocalDate from, LocalDate to,
+      Set<EmployeeStatisticType> types) {
+    this(deltas, from, to, to, types);
+  }
+
+  /**
+   * @param deltas    deltas ordered by capture date, up to to
+   * @param seriesEnd last day of the whole series, where current buckets are closed
+   * @param types     statistic types to emit
+   */
+  public HeadcountSeriesReader(List<HeadcountDeltaDto> deltas, LocalDate from, LocalDate to,
+      LocalDate seriesEnd, Set<EmployeeStatisticType> types) {
+    this.deltas = deltas.iterator();
+    this.pending = this.deltas.hasNext() ? this.deltas.next() : null;
+    this.date = from;
+    this.to = to;
+    this.seriesEnd = seriesEnd;
+    this.types = types;
+  }
+
+  @Override
+  public EmployeeStatistic read() {
+    while (ready.isEmpty() && !date.isAfter(to)) {
+      advance();
+    }
+    return ready.poll();
+  }
+
+  private void advance() {
+    while (pending != null && !pending.captureDate().isAfter(date)) {
+      headcount += pending.delta();
+      pending = deltas.hasNext() ? deltas.next() : null;
+    }
+    int employeeCount = (int) Math.max(0, headcount);
+    for (EmployeeStatisticType type : types) {
+      if (date.equals(seriesEnd) || date.equals(type.bucketEnd(date))) {
+        ready.add(new EmployeeStatistic(employeeCount, type, type.bucketStart(date)));
+      }
+    }
+    date = date.plusDays(1);
+  }
+}
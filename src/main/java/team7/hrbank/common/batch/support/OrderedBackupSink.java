@@ -0,0 +1,238 @@
+package team7.hrbank.common.batch.support;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single writer of a streamed backup artifact
+ * <br>
+ * Partitions hand over encoded chunks tagged with their partition index. Chunks of the lowest
+ * unfinished partition (head) go straight into the artifact, chunks of later partitions wait in
+ * memory until every earlier partition completes, so the artifact keeps partition order.
+ * <br>
+ * When waiting chunks exceed the buffer limit, the partition furthest from head spills to a
+ * sibling file which is later appended with zero-copy transfer
+ * <br>
+ * Every chunk is checksummed on the partition thread before it is handed over, and the final
+ * layout is known once the artifact is closed, so the {@link BackupManifest} needs no re-read
+ */
+@Slf4j
+public class OrderedBackupSink {
+
+  private final Path target;
+  private final long bufferLimit;
+  private final FileChannel channel;
+
+  private final Map<Integer, List<byte[]>> buffered = new HashMap<>();
+  private final Map<Integer, FileChannel> spills = new HashMap<>();
+  private final Set<Integer> completed = new HashSet<>();
+  private final Map<Integer, Long> submittedBytes = new HashMap<>();
+  // 파티션별 청크의 {길이, CRC32C}, 제출 순서
+  private final Map<Integer, List<long[]>> checksums = new HashMap<>();
+  private final BackupManifest.Block headerBlock;
+  private long bufferedBytes;
+  private int head;
+  private boolean closed;
+
+  public OrderedBackupSink(Path target, byte[] header, long bufferLimit) throws IOException {
+    this.target = target;
+    this.bufferLimit = bufferLimit;
+    this.channel = FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING);
+    this.headerBlock = new BackupManifest.Block(0, header.length, BlockChecksums.crc32c(header));
+    writeFully(channel, header);
+  }
+
+  public void write(int partition, byte[] block) throws IOException {
+    long crc = BlockChecksums.crc32c(block);
+    synchronized (this) {
+      ensureOpen();
+      checksums.computeIfAbsent(partition, key -> new ArrayList<>())
+          .add(new long[]{block.length, crc});
+      submit(partition, block);
+    }
+  }
+
+  private void submit(int partition, byte[] block) throws IOException {
+    submittedBytes.merge(partition, (long) block.length, Long::sum);
+    if (partition == head) {
+      writeFully(channel, block);
+      return;
+    }
+
+    FileChannel spill = spills.get(partition);
+    if (spill != null) {
+      writeFully(spill, block);
+      return;
+    }
+
+    buffered.computeIfAbsent(partition, key -> new ArrayList<>()).add(block);
+    bufferedBytes += block.length;
+    if (bufferedBytes > bufferLimit) {
+      spillFurthest();
+    }
+  }
+
+  /**
+   * @return bytes handed over by the partition so far, buffered or written
+   */
+  public synchronized long bytesOf(int partition) {
+    return submittedBytes.getOrDefault(partition, 0L);
+  }
+
+  /**
+   * Marks partition as finished and moves head past every finished partition
+   */
+  public synchronized void complete(int partition) throws IOException {
+    ensureOpen();
+    completed.add(partition);
+    while (completed.contains(head)) {
+      head++;
+      drain(head);
+    }
+  }
+
+  /**
+   * Flushes whatever is still waiting in partition order and closes the artifact
+   *
+   * @return size of the artifact in bytes
+   */
+  public synchronized long close() throws IOException {
+    ensureOpen();
+    Set<Integer> remaining = new TreeSet<>(buffered.keySet());
+    remaining.addAll(spills.keySet());
+    for (Integer partition : remaining) {
+      drain(partition);
+    }
+    long size = channel.size();
+    channel.force(false);
+    channel.close();
+    closed = true;
+    return size;
+  }
+
+  /**
+   * Layout of the closed artifact : header, then the chunks of every partition in partition order
+   *
+   * @param partitionRows rows written by each partition, by partition id (P0, P1 ...)
+   */
+  public synchronized BackupManifest manifest(Map<String, Long> partitionRows) {
+    if (!closed) {
+      throw new IllegalStateException("Backup sink not closed yet : " + target);
+    }
+    List<BackupManifest.Block> blocks = new ArrayList<>();
+    List<BackupManifest.PartitionRange> partitions = new ArrayList<>();
+    blocks.add(headerBlock);
+    long offset = headerBlock.length();
+    long rows = 0;
+
+    for (Integer partition : new TreeSet<>(checksums.keySet())) {
+      long start = offset;
+      for (long[] checksum : checksums.get(partition)) {
+        blocks.add(new BackupManifest.Block(offset, checksum[0], checksum[1]));
+        offset += checksum[0];
+      }
+      long partitionRowCount = partitionRows.getOrDefault("P" + partition, 0L);
+      partitions.add(new BackupManifest.PartitionRange("P" + partition, start, offset - start,
+          partitionRowCount));
+      rows += partitionRowCount;
+    }
+    return new BackupManifest(BackupManifest.VERSION, rows, offset, partitions, blocks);
+  }
+
+  /**
+   * Releases every resource without completing the artifact, and deletes the partially written
+   * artifact and its spill files
+   */
+  public synchronized void abort() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    buffered.clear();
+    for (Map.Entry<Integer, FileChannel> spill : spills.entrySet()) {
+      closeQuietly(spill.getValue());
+      deleteQuietly(spillPath(spill.getKey()));
+    }
+    spills.clear();
+    closeQuietly(channel);
+    deleteQuietly(target);
+  }
+
+  private void drain(int partition) throws IOException {
+    FileChannel spill = spills.remove(partition);
+    if (spill != null) {
+      BackupFileMerger.transferFully(spill, channel);
+      spill.close();
+      Files.deleteIfExists(spillPath(partition));
+    }
+
+    List<byte[]> blocks = buffered.remove(partition);
+    if (blocks != null) {
+      for (byte[] block : blocks) {
+        writeFully(channel, block);
+        bufferedBytes -= block.length;
+      }
+    }
+  }
+
+  private void spillFurthest() throws IOException {
+    int furthest = buffered.keySet().stream().max(Integer::compare).orElseThrow();
+    FileChannel spill = FileChannel.open(spillPath(furthest), CREATE, READ, WRITE,
+        TRUNCATE_EXISTING);
+    for (byte[] block : buffered.remove(furthest)) {
+      writeFully(spill, block);
+      bufferedBytes -= block.length;
+    }
+    spills.put(furthest, spill);
+    log.info("Backup stream buffer exceeded, partition {} spilled to disk", furthest);
+  }
+
+  private Path spillPath(int partition) {
+    return target.resolveSibling(target.getFileName() + ".P" + partition + ".spill");
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new IllegalStateException("Backup sink already closed : " + target);
+    }
+  }
+
+  private static void writeFully(FileChannel out, byte[] block) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(block);
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      log.warn("Failed to close backup channel: {}", e.getMessage());
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Failed to delete backup stream file: {}", path);
+    }
+  }
+}
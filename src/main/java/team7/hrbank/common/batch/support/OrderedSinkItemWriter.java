@@ -0,0 +1,85 @@
+package team7.hrbank.common.batch.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+
+/**
+ * Writer of one partition in STREAM mode
+ * <br>
+ * Each chunk is encoded on the partition thread and handed to the shared {@link OrderedBackupSink}
+ * after the chunk transaction commits, so a retried chunk is never written twice
+ * <br>
+ * The partition is completed in the sink only when its step completed. A failed partition aborts
+ * the whole sink instead, so later partitions never drain past the gap it leaves
+ */
+public class OrderedSinkItemWriter implements ItemStreamWriter<EmployeeDepartmentDto> {
+
+  private final OrderedBackupSink sink;
+  private final int partition;
+  private final BackupChunkEncoder encoder;
+
+  public OrderedSinkItemWriter(OrderedBackupSink sink, int partition, BackupChunkEncoder encoder) {
+    this.sink = sink;
+    this.partition = partition;
+    this.encoder = encoder;
+  }
+
+  /**
+   * @param partitionId partition id assigned by the partitioner (P0, P1 ...)
+   */
+  public static int partitionIndex(String partitionId) {
+    return Integer.parseInt(partitionId.substring(1));
+  }
+
+  @Override
+  public void write(Chunk<? extends EmployeeDepartmentDto> chunk) throws Exception {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    byte[] block = encoder.encode(chunk);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          submit(block);
+        }
+      });
+    } else {
+      submit(block);
+    }
+  }
+
+  @Override
+  public void close() throws ItemStreamException {
+    // close 는 스텝 상태가 정해진 뒤 호출됨
+    StepContext context = StepSynchronizationManager.getContext();
+    if (context == null
+        || context.getStepExecution().getStatus() != BatchStatus.COMPLETED) {
+      sink.abort();
+      return;
+    }
+    try {
+      sink.complete(partition);
+    } catch (IOException e) {
+      throw new ItemStreamException("Failed to complete backup partition " + partition, e);
+    }
+  }
+
+  private void submit(byte[] block) {
+    try {
+      sink.write(partition, block);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
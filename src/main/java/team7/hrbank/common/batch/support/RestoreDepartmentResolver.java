@@ -0,0 +1,67 @@
+package team7.hrbank.common.batch.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.batch.BatchDataSource;
+import org.springframework.boot.autoconfigure.batch.BatchTransactionManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Resolves department names of a backup to department ids during a restore
+ * <br>
+ * All departments are loaded once when a restore job starts, partitions then resolve names from
+ * memory. A department that no longer exists is recreated once with a placeholder description
+ */
+@Slf4j
+@Component
+public class RestoreDepartmentResolver {
+
+  private static final String LOAD_SQL = "SELECT id, name FROM departments";
+
+  // 동시에 복원하는 파티션이 같은 부서를 만들어도 하나로 수렴
+  private static final String CREATE_SQL = """
+      INSERT INTO departments (name, description, established_date, created_at)
+      VALUES (?, ?, now(), now())
+      ON CONFLICT (name) DO UPDATE SET name = EXCLUDED.name
+      RETURNING id
+      """;
+
+  private static final String RESTORED_DESCRIPTION = "Restored from backup";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate requiresNew;
+  private final Map<String, Long> ids = new ConcurrentHashMap<>();
+
+  public RestoreDepartmentResolver(@BatchDataSource DataSource dataSource,
+      @BatchTransactionManager PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  public void load() {
+    ids.clear();
+    jdbcTemplate.query(LOAD_SQL, rs -> {
+      ids.put(rs.getString("name"), rs.getLong("id"));
+    });
+    log.info("Restore department map loaded : {} departments", ids.size());
+  }
+
+  /**
+   * The department is created in its own transaction, so a rolled back chunk never leaves a cached
+   * id without its row
+   */
+  public Long resolve(String name) {
+    return ids.computeIfAbsent(name, missing -> {
+      log.info("Department {} recreated for restore", missing);
+      return requiresNew.execute(status ->
+          jdbcTemplate.queryForObject(CREATE_SQL, Long.class, missing, RESTORED_DESCRIPTION));
+    });
+  }
+}
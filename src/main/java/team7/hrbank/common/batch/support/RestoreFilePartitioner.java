@@ -0,0 +1,153 @@
+package team7.hrbank.common.batch.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * Splits a plain CSV backup artifact into byte ranges aligned to line boundaries
+ * <br>
+ * The header line is skipped, every range starts at the first byte of a line and ends right after
+ * a line break (or at the end of the file), so ranges can be parsed independently
+ * <br>
+ * Ranges of a binary artifact are aligned to its blocks instead of lines
+ * <br>
+ * A gzip artifact can not be entered at an arbitrary offset and is restored as a single partition
+ * <br>
+ * Each partition is assigned unique ID (R0, R1 ...) with its range [start, end). start -1 means the
+ * whole file including the header
+ */
+public class RestoreFilePartitioner implements Partitioner {
+
+  public static final String DELTA_HEADER_PREFIX = "op,";
+  private static final int SCAN_BUFFER = 8 * 1024;
+
+  private final Path file;
+  private final BackupFormat format;
+  private final BackupCompression compression;
+  private final long minPartitionBytes;
+
+  public RestoreFilePartitioner(Path file, BackupFormat format, BackupCompression compression,
+      long minPartitionBytes) {
+    this.file = file;
+    this.format = format;
+    this.compression = compression;
+    this.minPartitionBytes = minPartitionBytes;
+  }
+
+  @Override
+  public Map<String, ExecutionContext> partition(int gridSize) {
+    Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+    if (format == BackupFormat.CSV && compression == BackupCompression.GZIP) {
+      partitions.put("partition0", context(0, -1, -1));
+      return partitions;
+    }
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      List<Long> boundaries = format == BackupFormat.BINARY
+          ? blockBoundaries(channel, size, gridSize)
+          : boundaries(channel, nextLineStart(channel, 0), size, gridSize);
+      for (int i = 0; i < boundaries.size() - 1; i++) {
+        partitions.put("partition" + i, context(i, boundaries.get(i), boundaries.get(i + 1)));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return partitions;
+  }
+
+  /**
+   * @return start of every range followed by the end of the last one
+   */
+  private List<Long> boundaries(FileChannel channel, long headerEnd, long size, int gridSize)
+      throws IOException {
+    long body = size - headerEnd;
+    int count = (int) Math.max(1, Math.min(gridSize, body / Math.max(1, minPartitionBytes)));
+
+    List<Long> boundaries = new ArrayList<>();
+    boundaries.add(headerEnd);
+    for (int i = 1; i < count; i++) {
+      long boundary = nextLineStart(channel, headerEnd + body * i / count);
+      if (boundary > boundaries.get(boundaries.size() - 1) && boundary < size) {
+        boundaries.add(boundary);
+      }
+    }
+    boundaries.add(size);
+    return boundaries;
+  }
+
+  /**
+   * Groups consecutive blocks into ranges of about the same size
+   *
+   * @return start of every range followed by the end of the last one
+   */
+  private List<Long> blockBoundaries(FileChannel channel, long size, int gridSize)
+      throws IOException {
+    long headerEnd = BinaryChunkEncoder.MAGIC.length;
+    long body = size - headerEnd;
+    int count = (int) Math.max(1, Math.min(gridSize, body / Math.max(1, minPartitionBytes)));
+
+    List<Long> boundaries = new ArrayList<>();
+    boundaries.add(headerEnd);
+    ByteBuffer length = ByteBuffer.allocate(4);
+    long position = headerEnd;
+    while (position < size) {
+      length.clear();
+      if (channel.read(length, position) < 4) {
+        throw new IOException("Truncated binary backup block at " + position);
+      }
+      position += 4 + length.getInt(0);
+      if (position < size && position - headerEnd >= body * boundaries.size() / count) {
+        boundaries.add(position);
+      }
+    }
+    boundaries.add(size);
+    return boundaries;
+  }
+
+  /**
+   * @return position right after the first line break at or after position, or the file size
+   */
+  static long nextLineStart(FileChannel channel, long position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER);
+    long current = position;
+    while (true) {
+      buffer.clear();
+      int read = channel.read(buffer, current);
+      if (read <= 0) {
+        return channel.size();
+      }
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return current + i + 1;
+        }
+      }
+      current += read;
+    }
+  }
+
+  /**
+   * Reads the header line to tell a full backup from an incremental one
+   */
+  public static boolean isDelta(String header) {
+    return header != null && header.startsWith(DELTA_HEADER_PREFIX);
+  }
+
+  private ExecutionContext context(int index, long start, long end) {
+    ExecutionContext context = new ExecutionContext();
+    context.putString("partitionId", "R" + index);
+    context.putLong("start", start);
+    context.putLong("end", end);
+    return context;
+  }
+}
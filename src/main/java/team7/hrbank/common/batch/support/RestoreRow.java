@@ -0,0 +1,12 @@
+package team7.hrbank.common.batch.support;
+
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+
+/**
+ * One row of a backup artifact being restored
+ * <br>
+ * Rows of a full backup are always upserts, rows of an incremental backup are upserts or DELETE
+ * tombstones carrying only the employee number
+ */
+public record RestoreRow(boolean delete, EmployeeDepartmentDto employee) {
+}
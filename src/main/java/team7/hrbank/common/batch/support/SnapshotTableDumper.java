@@ -0,0 +1,109 @@
+package team7.hrbank.common.batch.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSetMetaData;
+import java.util.Collection;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Dumps a whole table as CSV, with the column names as header
+ * <br>
+ * Used by snapshot backups for tables other than employees, read through a snapshot data source
+ * of {@link BackupSnapshots} so the dump matches the employee partitions
+ */
+public final class SnapshotTableDumper {
+
+  private static final Pattern TABLE_NAME = Pattern.compile("^[a-z_]+$");
+  private static final int FETCH_SIZE = 1000;
+
+  private SnapshotTableDumper() {
+  }
+
+  /**
+   * @return {fileId}.{table}.csv
+   */
+  public static String fileName(Long fileId, String table) {
+    return fileId + "." + table + ".csv";
+  }
+
+  /**
+   * @return rows written
+   */
+  public static long dump(DataSource dataSource, String table, Path target) throws IOException {
+    if (!TABLE_NAME.matcher(table).matches()) {
+      throw new IllegalArgumentException("Invalid table name : " + table);
+    }
+    JdbcTemplate template = new JdbcTemplate(dataSource);
+    template.setFetchSize(FETCH_SIZE);
+
+    try (BufferedWriter writer = Files.newBufferedWriter(target, UTF_8)) {
+      return template.query("SELECT * FROM " + table + " ORDER BY 1",
+          (ResultSetExtractor<Long>) rs -> {
+            try {
+              ResultSetMetaData meta = rs.getMetaData();
+              int columns = meta.getColumnCount();
+              for (int i = 1; i <= columns; i++) {
+                writer.write((i > 1 ? "," : "") + meta.getColumnName(i));
+              }
+              writer.newLine();
+
+              long rows = 0;
+              while (rs.next()) {
+                for (int i = 1; i <= columns; i++) {
+                  writer.write((i > 1 ? "," : "") + escape(rs.getString(i)));
+                }
+                writer.newLine();
+                rows++;
+              }
+              return rows;
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Deletes the dumps of the given tables of fileId, without listing dir
+   */
+  public static void delete(Path dir, Long fileId, Collection<String> tables) throws IOException {
+    for (String table : tables) {
+      Files.deleteIfExists(dir.resolve(fileName(fileId, table)));
+    }
+  }
+
+  /**
+   * Deletes every table dump of fileId in dir
+   */
+  public static void deleteAll(Path dir, Long fileId) throws IOException {
+    try (DirectoryStream<Path> dumps = Files.newDirectoryStream(dir, fileId + ".*.csv")) {
+      for (Path dump : dumps) {
+        Files.deleteIfExists(dump);
+      }
+    }
+  }
+
+  // 구분자, 따옴표, 줄바꿈이 있는 값만 따옴표로 감싸고, null 은 빈 값
+  static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
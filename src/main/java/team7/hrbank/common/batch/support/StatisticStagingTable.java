@@ -0,0 +1,43 @@
+package team7.hrbank.common.batch.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Staging table of a full statistics rebuild
+ * <br>
+ * A full rebuild writes into an empty copy of employee_statistics while readers keep using the
+ * live table. swap then renames the copy over the live table and drops the old one in a single
+ * transaction, so readers switch from the complete old series to the complete new one with no
+ * empty or partial series in between, and the old rows are dropped as a whole instead of row by
+ * row
+ * <br>
+ * The live table is locked only for the renames at the end, not while the rebuild runs
+ */
+public final class StatisticStagingTable {
+
+  public static final String LIVE = "employee_statistics";
+  public static final String STAGING = "employee_statistics_staging";
+
+  private static final String RETIRED = "employee_statistics_retired";
+
+  private StatisticStagingTable() {
+  }
+
+  /**
+   * Creates an empty staging table with the columns, identity and constraints of the live table,
+   * dropping one left by a failed rebuild
+   */
+  public static void prepare(JdbcTemplate jdbcTemplate) {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + STAGING);
+    jdbcTemplate.execute("CREATE TABLE " + STAGING + " (LIKE " + LIVE + " INCLUDING ALL)");
+  }
+
+  /**
+   * Replaces the live table with the staging table, must run in one transaction
+   */
+  public static void swap(JdbcTemplate jdbcTemplate) {
+    jdbcTemplate.execute("ALTER TABLE " + LIVE + " RENAME TO " + RETIRED);
+    jdbcTemplate.execute("ALTER TABLE " + STAGING + " RENAME TO " + LIVE);
+    jdbcTemplate.execute("DROP TABLE " + RETIRED);
+  }
+}
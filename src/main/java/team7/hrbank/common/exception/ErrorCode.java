@@ -12,6 +12,8 @@ public enum ErrorCode {
   BAD_REQUEST(400, "잘못된 입력"),
   NOT_FOUND(404, "찾을 수 없음"),
   BACKUP_FAILED(500, "백업에 실패했습니다."),
+  RESTORE_FAILED(500, "복원에 실패했습니다."),
+  RESTORE_IN_PROGRESS(409, "복원이 진행 중입니다."),
 
   // Employee
   EMAIL_DUPLICATION(400, "이메일 중복");
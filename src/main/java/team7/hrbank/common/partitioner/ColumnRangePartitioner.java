@@ -1,81 +1,164 @@
 package team7.hrbank.common.partitioner;
 
-import java.util.HashMap;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Optional;
-import lombok.RequiredArgsConstructor;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ExecutionContext;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.batch.BatchDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import team7.hrbank.domain.employee.repository.EmployeeRepository;
+import team7.hrbank.common.batch.support.BackupReaderMode;
+import team7.hrbank.common.batch.support.BackupSnapshots;
+import team7.hrbank.common.batch.support.BatchConnectionBudget;
 
 /**
- * This partitioner divides database records into equally sized partitions based on ID
+ * This partitioner divides employee records into partitions holding the same number of rows
  * <br>
  * This partitioner is used to process parallel BackupBatch
  * <br>
- * Each Partition is assigned unique ID for identification
+ * The number of partitions is planned on every job execution from the live row count, available
+ * cores and available connections of the batch pool. gridSize of the partitioned step is used as
+ * upper bound, and the plan is recorded in the execution context of the partitioned step
+ * <br>
+ * Planning runs two queries : a COUNT of employees, which sizes the grid, then one NTILE query
+ * over the id index for the boundaries of all partitions. Gaps left by deleted employees do not
+ * skew partitions and no partition is empty, except the single empty partition planned for an
+ * empty table, so the job still writes an artifact holding only the header
+ * <br>
+ * Each Partition is assigned unique ID (P0, P1 ...) for identification, with its id range and
+ * row count
+ * <br>
+ * In a snapshot backup, counting and boundaries are read from the exported snapshot too, so every
+ * row the partitions can see falls into one of the ranges
  */
+@Slf4j
 @Component
-@RequiredArgsConstructor
+@StepScope
 public class ColumnRangePartitioner implements Partitioner {
 
-  //  private final DataSource dataSource;
-  private final EmployeeRepository employeeRepository;
+  public static final String PLAN_ROW_COUNT = "plan.rowCount";
+  public static final String PLAN_CORES = "plan.cores";
+  public static final String PLAN_CONNECTIONS = "plan.connections";
+  public static final String PLAN_GRID_SIZE = "plan.gridSize";
 
+  private static final String COUNT_SQL = "SELECT COUNT(*) FROM employees";
 
-  @Override
-  public Map<String, ExecutionContext> partition(int gridSize) {
-    Map<String, ExecutionContext> partitions = new HashMap<>();
-    long totalCount = employeeRepository.count(); // 전체 데이터 개수를 가져오는 메서드
-    long partitionSize = (totalCount + gridSize - 1) / gridSize; // 파티션당 예상 데이터 개수
-    long minId = employeeRepository.findMinId();
-    long partitionIndex = 0;
-    long maximumId = getMaxId();
-    while (minId <= maximumId) {
-      ExecutionContext context = new ExecutionContext();
-      context.put("partitionId", "P" + partitionIndex);
+  // 정렬된 id 를 행 수 기준으로 gridSize 개 버킷으로 나누고, 버킷별 id 범위와 행 수를 조회
+  private static final String BOUNDARY_SQL = """
+      SELECT bucket, MIN(id) AS min_id, MAX(id) AS max_id, COUNT(*) AS row_count
+      FROM (SELECT id, NTILE(?) OVER (ORDER BY id) AS bucket FROM employees) ranked
+      GROUP BY bucket
+      ORDER BY bucket
+      """;
 
-      long maxId = getActualMaxId(minId, partitionSize);
+  private final DataSource dataSource;
+  private final BackupSnapshots snapshots;
+  private final StepExecution stepExecution;
+  private JdbcTemplate jdbcTemplate;
 
-      if (maxId == -1) {
-        minId += partitionSize;
-        continue; // 해당 파티션은 데이터가 없으므로 건너뜀
-      }
+  @Value("${hrbank.backup.partition.rows-per-partition:20000}")
+  private long rowsPerPartition;
 
-      context.put("minId", minId);
-      context.put("maxId", maxId);
+  // 백업 외 요청(잡 메타데이터, API)을 위해 남겨 둘 커넥션 수
+  @Value("${hrbank.backup.partition.reserved-connections:1}")
+  private int reservedConnections;
 
-      partitions.put("partition" + partitionIndex, context);
+  @Value("${hrbank.backup.reader:PAGING}")
+  private BackupReaderMode readerMode;
 
-      minId = maxId + 1;
-      partitionIndex++;
+  public ColumnRangePartitioner(@BatchDataSource DataSource dataSource,
+      BackupSnapshots snapshots, @Value("#{stepExecution}") StepExecution stepExecution) {
+    this.dataSource = dataSource;
+    this.snapshots = snapshots;
+    this.stepExecution = stepExecution;
+  }
 
-      if (partitionIndex >= gridSize) {
-        break;
-      }
-    }
+  @Override
+  public Map<String, ExecutionContext> partition(int gridSize) {
+    String snapshotId = stepExecution.getJobExecution().getExecutionContext()
+        .getString(BackupSnapshots.SNAPSHOT_ID, null);
+    jdbcTemplate = new JdbcTemplate(snapshots.dataSource(snapshotId));
+    int plannedGridSize = plan(gridSize, snapshotId);
 
+    Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+    jdbcTemplate.query(BOUNDARY_SQL, rs -> {
+      int partitionIndex = partitions.size();
+      ExecutionContext context = new ExecutionContext();
+      context.put("partitionId", "P" + partitionIndex);
+      context.put("minId", rs.getLong("min_id"));
+      context.put("maxId", rs.getLong("max_id"));
+      context.put("rowCount", rs.getLong("row_count"));
+      partitions.put("partition" + partitionIndex, context);
+    }, plannedGridSize);
+
+    // 사원이 없으면 빈 범위 파티션 하나로 헤더만 있는 백업을 만듦
+    if (partitions.isEmpty()) {
+      ExecutionContext context = new ExecutionContext();
+      context.put("partitionId", "P0");
+      context.put("minId", 1L);
+      context.put("maxId", 0L);
+      context.put("rowCount", 0L);
+      partitions.put("partition0", context);
+    }
     return partitions;
   }
 
   /**
+   * Picks the number of partitions for this execution and records the inputs of the decision
    *
-   * @param minId minimum id in range
-   * @param rangeSize size of each range
-   * @return Actual Maximum Id In Range
+   * @param maxGridSize upper bound configured on the partitioned step
+   * @param snapshotId  snapshot of the backup, null unless snapshot mode
    */
-  private long getActualMaxId(long minId, long rangeSize) {
-    Optional<Long> maxId = employeeRepository.findMaxIdBetween(minId, minId + rangeSize);
-    if (maxId.isPresent()) {
-      return maxId.get();
-    } else {
-      return -1;
-    }
+  private int plan(int maxGridSize, String snapshotId) {
+    long rowCount = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+    int cores = Runtime.getRuntime().availableProcessors();
+    int connections = availableConnections(snapshotId != null);
+
+    long byRows = rowCount / rowsPerPartition + 1;
+    int gridSize = (int) Math.max(1,
+        Math.min(Math.min(byRows, maxGridSize), Math.min(cores, connections)));
+
+    ExecutionContext context = stepExecution.getExecutionContext();
+    context.putLong(PLAN_ROW_COUNT, rowCount);
+    context.putInt(PLAN_CORES, cores);
+    context.putInt(PLAN_CONNECTIONS, connections);
+    context.putInt(PLAN_GRID_SIZE, gridSize);
+
+    log.info("Backup partition plan : {} rows, {} cores, {} connections -> {} partitions",
+        rowCount, cores, connections, gridSize);
+    return gridSize;
   }
 
-  private long getMaxId() {
-    return employeeRepository.findMaxId();
+  /**
+   * Partitions that fit in the pool : idle or not yet opened connections minus the reserved ones,
+   * divided by the connections one partition holds
+   * <br>
+   * A cursor reader and a snapshot reader keep their own connection next to the chunk transaction,
+   * so CURSOR and snapshot mode need two, see {@link BatchConnectionBudget}
+   */
+  private int availableConnections(boolean snapshot) {
+    try {
+      if (dataSource.isWrapperFor(HikariDataSource.class)) {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        int available = hikari.getMaximumPoolSize();
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+          available -= pool.getActiveConnections();
+        }
+        int perPartition = BatchConnectionBudget.connectionsPerPartition(readerMode, snapshot);
+        return Math.max(1, (available - reservedConnections) / perPartition);
+      }
+    } catch (SQLException e) {
+      log.warn("Failed to inspect connection pool: {}", e.getMessage());
+    }
+    return Integer.MAX_VALUE;
   }
 }
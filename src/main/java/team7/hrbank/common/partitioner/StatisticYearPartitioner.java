@@ -0,0 +1,46 @@
+package team7.hrbank.common.partitioner;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * This partitioner divides the statistics series from from to to into one partition per year
+ * <br>
+ * This partitioner is used to rebuild statistics in parallel, in TrendRollupBatch
+ * <br>
+ * Each partition gets its own date range (from, to) and the end of the whole series (seriesEnd) as
+ * ISO dates. A statistic is written by the partition holding the last day of its bucket, so a week
+ * across new year belongs to the later year and partitions never write the same row
+ * <br>
+ * gridSize is ignored, the number of partitions is the number of years in the series
+ */
+public class StatisticYearPartitioner implements Partitioner {
+
+  private final LocalDate from;
+  private final LocalDate to;
+
+  public StatisticYearPartitioner(LocalDate from, LocalDate to) {
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  public Map<String, ExecutionContext> partition(int gridSize) {
+    Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+    for (int year = from.getYear(); year <= to.getYear(); year++) {
+      LocalDate start = year == from.getYear() ? from : LocalDate.of(year, 1, 1);
+      LocalDate end = year == to.getYear() ? to : LocalDate.of(year, 12, 31);
+
+      ExecutionContext context = new ExecutionContext();
+      context.put("partitionId", "Y" + year);
+      context.put("from", start.toString());
+      context.put("to", end.toString());
+      context.put("seriesEnd", to.toString());
+      partitions.put("partition" + year, context);
+    }
+    return partitions;
+  }
+}
@@ -1,23 +1,26 @@
 package team7.hrbank.common.scheduler;
 
 
-import java.io.File;
+import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import team7.hrbank.domain.backup.dto.BackupDto;
 import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.service.BackupLifecycleService;
 import team7.hrbank.domain.backup.service.BackupService;
+import team7.hrbank.domain.backup.service.ChangeWatermark;
 
 /**
  * Scheduler for automatted backup and cleanups.
  * <br>
- * Every o'clock, backup process is initiated
+ * Every poll-interval, backup process is initiated if {@link ChangeWatermark} says a backup is due.
+ * Idle polls leave no backup record
  * <br>
- * Every 30 past o'clock, cleanup process is initiated
+ * Every retention interval, backups outside the retention policy and stale workspaces are removed
+ * in the background
  */
 @Component
 @Slf4j
@@ -25,15 +28,16 @@ import team7.hrbank.domain.backup.service.BackupService;
 public class BackupScheduler {
 
   private final BackupService backupService;
+  private final ChangeWatermark changeWatermark;
 
-  @Value("${hrbank.storage.backup}")
-  private String BACKUP_DIR;
-  private String backupFilePrefix = "backup_part_";
-  private String backupFilePrefixMerged = "tmpBackup";
+  private final BackupLifecycleService lifecycleService;
 
-  @Scheduled(cron = "0 0 * * * *", zone = "Asia/Seoul")
+  @Scheduled(fixedDelayString = "${hrbank.backup.trigger.poll-interval:60000}")
   public void runBackup() {
-    log.info("Backup Scheduler Initiated");
+    if (!changeWatermark.isDue(Instant.now())) {
+      return;
+    }
+    log.info("Backup Scheduler Initiated : {} pending changes", changeWatermark.getPendingChanges());
 
     BackupDto backupDto = backupService.createBackupRecord();
     if (backupDto.status() == BackupStatus.SKIPPED) {
@@ -51,26 +55,12 @@ public class BackupScheduler {
 
 
 
-  @Scheduled(cron = "0 30 * * * *")
+  /**
+   * Starts a retention pass, which also removes workspaces of runs that ended without cleaning up
+   */
+  @Scheduled(fixedDelayString = "${hrbank.backup.retention.interval:3600000}",
+      initialDelayString = "${hrbank.backup.retention.initial-delay:300000}")
   public void cleanup() {
-    File backupDir = new File(BACKUP_DIR);
-    if (!backupDir.exists()) {
-      return;
-    }
-
-    File[] files = backupDir.listFiles(
-        (dir, name) -> name.startsWith(backupFilePrefix) || name.startsWith(
-            backupFilePrefixMerged));
-    if (files == null || files.length == 0) {
-      return;
-    }
-
-    for (File file : files) {
-      if (file.delete()) {
-        log.info("cleaned up: {}", file.getAbsolutePath());
-      } else {
-        log.warn("Failed to clean up: {}", file.getAbsolutePath());
-      }
-    }
+    lifecycleService.applyRetention();
   }
 }
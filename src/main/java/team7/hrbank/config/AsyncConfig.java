@@ -1,9 +1,33 @@
 package team7.hrbank.config;
 
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+
+  /**
+   * 백업 블록 체크섬 검증 전용 executor
+   * <br>
+   * 검증은 실행 중인 백업 안에서 호출되므로 백업, 파티션이 쓰는 taskExecutor 와 나눠 서로 기다리지 않게 함.
+   * 큐가 차면 호출한 쓰레드가 직접 검증
+   */
+  @Bean
+  public TaskExecutor verifyTaskExecutor(
+      @Value("${hrbank.backup.verify-parallelism:4}") int verifyParallelism) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(Math.max(1, verifyParallelism));
+    executor.setMaxPoolSize(Math.max(1, verifyParallelism));
+    executor.setQueueCapacity(Math.max(1, verifyParallelism) * 4);
+    executor.setThreadNamePrefix("backup-verify-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.initialize();
+    return executor;
+  }
 }
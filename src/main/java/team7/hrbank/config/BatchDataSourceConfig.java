@@ -0,0 +1,57 @@
+package team7.hrbank.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.batch.BatchDataSource;
+import org.springframework.boot.autoconfigure.batch.BatchTransactionManager;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Separate connection pools for the REST API and for batch jobs
+ * <br>
+ * The primary pool (spring.datasource.hikari) serves JPA and the API. Backup and restore jobs,
+ * and the Spring Batch job repository, use their own pool (hrbank.batch.datasource.hikari) on the
+ * same database, so a running backup can never take the connections web requests wait for
+ */
+@Configuration
+public class BatchDataSourceConfig {
+
+  @Bean
+  @Primary
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource dataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @BatchDataSource
+  @ConfigurationProperties("hrbank.batch.datasource.hikari")
+  public HikariDataSource batchDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  // 배치 트랜잭션 매니저를 등록하면 기본 JPA 트랜잭션 매니저가 생성되지 않으므로 직접 등록
+  @Bean
+  @Primary
+  public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+    return new JpaTransactionManager(entityManagerFactory);
+  }
+
+  /**
+   * Chunk transactions of backup and restore steps, on the batch pool
+   */
+  @Bean
+  @BatchTransactionManager
+  public PlatformTransactionManager batchTransactionManager(
+      @BatchDataSource DataSource batchDataSource) {
+    return new DataSourceTransactionManager(batchDataSource);
+  }
+}
@@ -2,16 +2,23 @@ package team7.hrbank.domain.backup.controller;
 
 import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import team7.hrbank.common.dto.PageResponse;
 import team7.hrbank.domain.backup.dto.BackupDto;
 import team7.hrbank.domain.backup.dto.BackupListRequestDto;
+import team7.hrbank.domain.backup.dto.BackupMetrics;
+import team7.hrbank.domain.backup.dto.BackupRestoreStatusDto;
+import team7.hrbank.domain.backup.dto.BackupVerifyDto;
 import team7.hrbank.domain.backup.entity.BackupStatus;
 import team7.hrbank.domain.backup.service.BackupService;
 
@@ -60,4 +67,42 @@ public class BackupController {
     return ResponseEntity.ok(response);
   }
 
+  // 200, 404
+  @GetMapping("/{id}/metrics")
+  public ResponseEntity<BackupMetrics> getBackupMetrics(@PathVariable Long id) {
+    return ResponseEntity.ok(backupService.findMetrics(id));
+  }
+
+  // 202, 400, 404, 409, 500
+  // 백업 시점의 사원 목록으로 교체 (병합 아님), 백업에 없는 사원은 삭제됨
+  // 복원은 백그라운드에서 실행, 진행 상황과 결과는 GET /{id}/restore
+  @PostMapping("/{id}/restore")
+  public ResponseEntity<BackupRestoreStatusDto> restoreBackup(@PathVariable Long id) {
+    BackupRestoreStatusDto status = backupService.startRestore(id);
+    try {
+      backupService.restoreBackupAsync(id);
+    } catch (TaskRejectedException e) {
+      backupService.failRestore(id, e.getMessage());
+      throw e;
+    }
+    return ResponseEntity.accepted().body(status);
+  }
+
+  // 200, 404 : 가장 최근 복원이 이 백업의 복원일 때만 조회됨
+  @GetMapping("/{id}/restore")
+  public ResponseEntity<BackupRestoreStatusDto> getRestoreStatus(@PathVariable Long id) {
+    return ResponseEntity.ok(backupService.findRestoreStatus(id));
+  }
+
+  // 200, 400, 404, 500
+  @PostMapping("/{id}/verify")
+  public ResponseEntity<BackupVerifyDto> verifyBackup(@PathVariable Long id) {
+    return ResponseEntity.ok(backupService.verifyBackup(id));
+  }
+
+  // 200, 404 : 진행 중에는 progress 이벤트, 끝나면 최종 백업 정보를 담은 done 이벤트 후 종료
+  @GetMapping(value = "/{id}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamProgress(@PathVariable Long id) {
+    return backupService.subscribeProgress(id);
+  }
 }
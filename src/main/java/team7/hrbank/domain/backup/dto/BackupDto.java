@@ -2,6 +2,7 @@ package team7.hrbank.domain.backup.dto;
 
 import java.time.Instant;
 import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.entity.BackupType;
 
 public record BackupDto(
     Long id,
@@ -9,7 +10,9 @@ public record BackupDto(
     Instant startedAt,
     Instant endedAt,
     BackupStatus status,
-    Long fileId
+    Long fileId,
+    BackupType type,
+    Long parentId
 ) {
 
 }
@@ -0,0 +1,42 @@
+package team7.hrbank.domain.backup.dto;
+
+import java.util.List;
+
+/**
+ * Throughput of one backup run, stored with the backup_history row
+ * <br>
+ * readMillis / writeMillis are summed over partitions, mergeMillis is the time spent after the
+ * partitions finished (merge or stream close)
+ */
+public record BackupMetrics(
+    long rowsRead,
+    long rowsWritten,
+    long bytesWritten,
+    long totalMillis,
+    long readMillis,
+    long writeMillis,
+    long mergeMillis,
+    double rowsPerSecond,
+    long retries,
+    List<PartitionMetrics> partitions
+) {
+
+  /**
+   * @param chunkReadP50Millis latency of reading one chunk (fetch size rows) from DB
+   */
+  public record PartitionMetrics(
+      String partitionId,
+      long rowsRead,
+      long rowsWritten,
+      long bytesWritten,
+      long readMillis,
+      long writeMillis,
+      double chunkReadP50Millis,
+      double chunkReadP95Millis,
+      double chunkReadP99Millis,
+      long retries,
+      long rollbacks
+  ) {
+
+  }
+}
@@ -0,0 +1,38 @@
+package team7.hrbank.domain.backup.dto;
+
+import java.util.List;
+import org.springframework.batch.core.BatchStatus;
+
+/**
+ * Live progress of a running backup, read from the in-memory job execution
+ * <br>
+ * rowsTotal is the row count planned by the partitioner, null until partitions are planned (and
+ * for incremental backups). etaMillis is extrapolated from the rows written since the first
+ * partition started, null while it cannot be estimated
+ * <br>
+ * jobStatus COMPLETED does not mean the backup is completed : the artifact is still verified and
+ * stored afterwards, the final backup record is sent as the done event
+ */
+public record BackupProgressDto(
+    Long backupId,
+    BatchStatus jobStatus,
+    int partitionsTotal,
+    int partitionsCompleted,
+    Long rowsTotal,
+    long rowsWritten,
+    long bytesWritten,
+    long elapsedMillis,
+    Long etaMillis,
+    List<PartitionProgress> partitions
+) {
+
+  public record PartitionProgress(
+      String partitionId,
+      BatchStatus status,
+      long rowsTotal,
+      long rowsWritten,
+      long bytesWritten
+  ) {
+
+  }
+}
@@ -0,0 +1,21 @@
+package team7.hrbank.domain.backup.dto;
+
+/**
+ * Result of a restore
+ *
+ * @param artifacts    number of backup files applied, the full backup and its incremental backups
+ * @param rowsRestored employees inserted or changed, employees already equal to the backup are
+ *                     not counted
+ * @param rowsDeleted  employees removed because the chain does not contain them, or removed them
+ *                     with a DELETE tombstone
+ */
+public record BackupRestoreDto(
+    Long backupId,
+    int artifacts,
+    long rowsRestored,
+    long rowsDeleted,
+    long elapsedMillis,
+    double rowsPerSecond
+) {
+
+}
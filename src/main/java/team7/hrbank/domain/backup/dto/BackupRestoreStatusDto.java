@@ -0,0 +1,47 @@
+package team7.hrbank.domain.backup.dto;
+
+import java.time.Instant;
+import org.springframework.batch.core.BatchStatus;
+
+/**
+ * Status of the latest restore, kept in memory
+ * <br>
+ * status is STARTED while the chain is loaded and applied, then COMPLETED with result or FAILED
+ * with error. employees only changes once artifactsStaged reaches artifacts
+ *
+ * @param artifacts       backup files of the chain, the full backup and its incremental backups
+ * @param artifactsStaged backup files loaded into the staging table so far
+ * @param rowsStaged      rows loaded into the staging table so far
+ */
+public record BackupRestoreStatusDto(
+    Long backupId,
+    BatchStatus status,
+    int artifacts,
+    int artifactsStaged,
+    long rowsStaged,
+    Instant startedAt,
+    Instant finishedAt,
+    BackupRestoreDto result,
+    String error
+) {
+
+  public static BackupRestoreStatusDto started(Long backupId, int artifacts) {
+    return new BackupRestoreStatusDto(backupId, BatchStatus.STARTED, artifacts, 0, 0,
+        Instant.now(), null, null, null);
+  }
+
+  public BackupRestoreStatusDto staged(long rows) {
+    return new BackupRestoreStatusDto(backupId, status, artifacts, artifactsStaged + 1,
+        rowsStaged + rows, startedAt, null, null, null);
+  }
+
+  public BackupRestoreStatusDto completed(BackupRestoreDto result) {
+    return new BackupRestoreStatusDto(backupId, BatchStatus.COMPLETED, artifacts, artifactsStaged,
+        rowsStaged, startedAt, Instant.now(), result, null);
+  }
+
+  public BackupRestoreStatusDto failed(String error) {
+    return new BackupRestoreStatusDto(backupId, BatchStatus.FAILED, artifacts, artifactsStaged,
+        rowsStaged, startedAt, Instant.now(), null, error);
+  }
+}
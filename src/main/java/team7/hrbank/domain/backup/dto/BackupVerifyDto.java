@@ -0,0 +1,24 @@
+package team7.hrbank.domain.backup.dto;
+
+import java.util.List;
+
+/**
+ * Result of checking a backup artifact against its manifest
+ *
+ * @param sizeMatches         size of the artifact equals the size recorded in the manifest
+ * @param blocksChecked       blocks whose checksum was recomputed, 0 when only the size was checked
+ * @param corruptBlockOffsets offsets of blocks whose checksum does not match or that are cut short
+ */
+public record BackupVerifyDto(
+    Long fileId,
+    boolean valid,
+    long rows,
+    long bytes,
+    boolean sizeMatches,
+    int blocks,
+    int blocksChecked,
+    List<Long> corruptBlockOffsets,
+    long elapsedMillis
+) {
+
+}
@@ -18,8 +18,11 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import team7.hrbank.domain.backup.dto.BackupMetrics;
 import team7.hrbank.domain.binary.BinaryContent;
 
 
@@ -36,12 +39,14 @@ public class Backup {
     this.worker = worker;
     this.startedAt = startedAt;
     this.status = BackupStatus.COMPLETED;
+    this.type = BackupType.FULL;
   }
 
   public Backup(Instant startedAt, BackupStatus status){
     this.startedAt = startedAt;
     this.worker = "system";
     this.status = status;
+    this.type = BackupType.FULL;
   }
 
   @Id
@@ -66,6 +71,23 @@ public class Backup {
   @Column(name = "status", nullable = false)
   private BackupStatus status; // Mapper 에서 Default 설정 - 진행중
 
+  @Enumerated(EnumType.STRING)
+  @Column(name = "type", nullable = false, updatable = false)
+  private BackupType type;
+
+  // 증분 백업의 기준이 된 백업
+  @Column(name = "parent_id", updatable = false)
+  private Long parentId;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "metrics", columnDefinition = "jsonb")
+  private BackupMetrics metrics;
+
+  public void asIncremental(Long parentId) {
+    this.type = BackupType.INCREMENTAL;
+    this.parentId = parentId;
+  }
+
   public void addOperator(String worker) {
     this.worker = worker;
   }
@@ -81,6 +103,10 @@ public class Backup {
   public void fail(){
     status = BackupStatus.FAILED;
   }
+  public void updateMetrics(BackupMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   public void addFile(BinaryContent file) {
     this.file = file;
   }
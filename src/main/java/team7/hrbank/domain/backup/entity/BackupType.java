@@ -0,0 +1,10 @@
+package team7.hrbank.domain.backup.entity;
+
+/**
+ * FULL : 전체 직원 백업
+ * <br>
+ * INCREMENTAL : 부모 백업 이후 변경 이력이 있는 직원만 백업 (삭제는 tombstone)
+ */
+public enum BackupType {
+  FULL, INCREMENTAL
+}
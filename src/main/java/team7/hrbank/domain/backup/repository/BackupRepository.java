@@ -1,10 +1,13 @@
 package team7.hrbank.domain.backup.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import team7.hrbank.domain.backup.entity.Backup;
 import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.entity.BackupType;
 
 public interface BackupRepository extends JpaRepository<Backup, Long>, CustomBackupRepository {
 
@@ -12,6 +15,14 @@ public interface BackupRepository extends JpaRepository<Backup, Long>, CustomBac
 
   Optional<Backup> findFirstByOrderByStartedAtDesc();
 
+  Optional<Backup> findFirstByStatusInOrderByStartedAtDesc(Collection<BackupStatus> statuses);
+
+  Optional<Backup> findFirstByStatusAndTypeOrderByStartedAtDesc(BackupStatus status, BackupType type);
+
+  // 보관 정책 적용 대상, 파일 종류까지 한 번에 조회
+  @Query("SELECT b FROM Backup b LEFT JOIN FETCH b.file")
+  List<Backup> findAllWithFile();
+
   @Query("SELECT COUNT(b) FROM Backup b")
   long getTotalElements();
 }
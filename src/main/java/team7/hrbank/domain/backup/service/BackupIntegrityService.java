@@ -0,0 +1,21 @@
+package team7.hrbank.domain.backup.service;
+
+import java.nio.file.Path;
+import team7.hrbank.domain.backup.dto.BackupVerifyDto;
+
+public interface BackupIntegrityService {
+
+  /**
+   * Checks every block of a completed backup
+   */
+  BackupVerifyDto verify(Long backupId);
+
+  /**
+   * Checks an artifact against the manifest of fileId
+   *
+   * @param artifact     artifact on disk, ignored when the artifact is in the chunk store
+   * @param checkBlocks  recompute block checksums, otherwise only the size is compared
+   * @return null when the artifact has no manifest
+   */
+  BackupVerifyDto check(Long fileId, Path artifact, boolean checkBlocks);
+}
@@ -0,0 +1,186 @@
+package team7.hrbank.domain.backup.service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import team7.hrbank.common.batch.support.BackupFormat;
+import team7.hrbank.common.batch.support.BackupManifest;
+import team7.hrbank.common.batch.support.BlockChecksums;
+import team7.hrbank.common.exception.BackupException;
+import team7.hrbank.common.exception.ErrorCode;
+import team7.hrbank.domain.backup.dto.BackupVerifyDto;
+import team7.hrbank.domain.backup.entity.Backup;
+import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.repository.BackupRepository;
+import team7.hrbank.domain.binary.BackupChunkStore;
+import team7.hrbank.domain.binary.BinaryContent;
+import team7.hrbank.domain.binary.BinaryContentRepository;
+
+/**
+ * Checks backup artifacts against their {@link BackupManifest}
+ * <br>
+ * Blocks are independent, so each block is read from its own offset and checksummed in parallel
+ * on verifyTaskExecutor, which is not shared with backups since a running backup calls check. At
+ * most verify-parallelism tasks are submitted per check, each taking every n-th block, so a large
+ * manifest never overflows the executor queue. Artifacts moved into the chunk store are read
+ * through {@link BackupChunkStore} without reassembling them, its manifest is read once per check
+ */
+@Slf4j
+@Service
+public class BackupIntegrityServiceImpl implements BackupIntegrityService {
+
+  private final BackupRepository backupRepository;
+  private final BinaryContentRepository binaryContentRepository;
+  private final BackupChunkStore chunkStore;
+  private final TaskExecutor verifyTaskExecutor;
+
+  @Value("${hrbank.storage.local.root-path}")
+  private String BACKUP_DIR;
+
+  @Value("${hrbank.backup.verify-parallelism:4}")
+  private int verifyParallelism;
+
+  public BackupIntegrityServiceImpl(BackupRepository backupRepository,
+      BinaryContentRepository binaryContentRepository, BackupChunkStore chunkStore,
+      @Qualifier("verifyTaskExecutor") TaskExecutor verifyTaskExecutor) {
+    this.backupRepository = backupRepository;
+    this.binaryContentRepository = binaryContentRepository;
+    this.chunkStore = chunkStore;
+    this.verifyTaskExecutor = verifyTaskExecutor;
+  }
+
+  @Override
+  public BackupVerifyDto verify(Long backupId) {
+    Backup backup = backupRepository.findById(backupId)
+        .orElseThrow(() -> new BackupException(ErrorCode.NOT_FOUND));
+    if (backup.getStatus() != BackupStatus.COMPLETED || backup.getFile() == null) {
+      throw new BackupException(ErrorCode.BAD_REQUEST,
+          "Backup " + backupId + " is not a completed backup");
+    }
+    BinaryContent file = binaryContentRepository.findById(backup.getFile().getId())
+        .orElseThrow(() -> new BackupException(ErrorCode.NOT_FOUND));
+
+    Path artifact = Path.of(BACKUP_DIR, BackupFormat.artifactNameOf(file.getId(),
+        file.getFileType()));
+    BackupVerifyDto result = check(file.getId(), artifact, true);
+    if (result == null) {
+      throw new BackupException(ErrorCode.NOT_FOUND,
+          "Backup " + backupId + " has no integrity manifest");
+    }
+    log.info("Backup {} verified : {} ({} blocks in {} ms)", backupId,
+        result.valid() ? "valid" : "corrupt", result.blocksChecked(), result.elapsedMillis());
+    return result;
+  }
+
+  @Override
+  public BackupVerifyDto check(Long fileId, Path artifact, boolean checkBlocks) {
+    Path manifestPath = Path.of(BACKUP_DIR, BackupManifest.fileName(fileId));
+    if (!Files.exists(manifestPath)) {
+      return null;
+    }
+
+    long started = System.nanoTime();
+    try {
+      BackupManifest manifest = BackupManifest.read(manifestPath);
+      BlockSource source;
+      long size;
+      if (chunkStore.contains(fileId)) {
+        BackupChunkStore.ChunkedArtifact chunked = chunkStore.artifact(fileId);
+        source = chunked::open;
+        size = chunked.size();
+      } else {
+        source = offset -> openFile(artifact, offset);
+        size = sizeOf(artifact);
+      }
+      boolean sizeMatches = size == manifest.bytes();
+
+      boolean readBlocks = sizeMatches && checkBlocks;
+      List<Long> corrupt = readBlocks ? corruptBlocks(manifest, source) : List.of();
+      int blocksChecked = readBlocks ? manifest.blocks().size() : 0;
+      return new BackupVerifyDto(fileId, sizeMatches && corrupt.isEmpty(), manifest.rows(),
+          manifest.bytes(), sizeMatches, manifest.blocks().size(), blocksChecked, corrupt,
+          (System.nanoTime() - started) / 1_000_000);
+    } catch (IOException e) {
+      throw new BackupException(ErrorCode.INTERNAL_SERVER_ERROR,
+          "Error verifying backup file " + fileId + " : " + e.getMessage());
+    }
+  }
+
+  /**
+   * @return offsets of blocks whose checksum does not match, in file order
+   */
+  private List<Long> corruptBlocks(BackupManifest manifest, BlockSource source)
+      throws IOException {
+    List<BackupManifest.Block> blocks = manifest.blocks();
+    int workers = Math.max(1, Math.min(verifyParallelism, blocks.size()));
+    List<CompletableFuture<List<Long>>> futures = new ArrayList<>();
+    for (int worker = 0; worker < workers; worker++) {
+      int first = worker;
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        List<Long> corrupt = new ArrayList<>();
+        for (int i = first; i < blocks.size(); i += workers) {
+          try {
+            if (!matches(blocks.get(i), source)) {
+              corrupt.add(blocks.get(i).offset());
+            }
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+        return corrupt;
+      }, verifyTaskExecutor));
+    }
+
+    try {
+      return futures.stream()
+          .map(CompletableFuture::join)
+          .flatMap(List::stream)
+          .sorted()
+          .toList();
+    } catch (CompletionException e) {
+      throw new IOException("Error reading backup block", e.getCause());
+    }
+  }
+
+  private static boolean matches(BackupManifest.Block block, BlockSource source)
+      throws IOException {
+    try (InputStream in = source.open(block.offset())) {
+      return BlockChecksums.crc32c(in, block.length()) == block.crc32c();
+    } catch (EOFException e) {
+      return false;
+    }
+  }
+
+  private static InputStream openFile(Path artifact, long offset) throws IOException {
+    FileChannel channel = FileChannel.open(artifact);
+    channel.position(offset);
+    return Channels.newInputStream(channel);
+  }
+
+  private static long sizeOf(Path artifact) throws IOException {
+    return Files.exists(artifact) ? Files.size(artifact) : -1;
+  }
+
+  /**
+   * Opens the artifact at a block offset
+   */
+  @FunctionalInterface
+  private interface BlockSource {
+
+    InputStream open(long offset) throws IOException;
+  }
+}
@@ -0,0 +1,14 @@
+package team7.hrbank.domain.backup.service;
+
+import org.springframework.scheduling.annotation.Async;
+
+public interface BackupLifecycleService {
+
+  /**
+   * Deletes backups outside the retention policy, their records and files together
+   * <br>
+   * Runs in the background, a pass already running makes this call a no-op
+   */
+  @Async
+  void applyRetention();
+}
@@ -0,0 +1,200 @@
+package team7.hrbank.domain.backup.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import team7.hrbank.common.batch.support.BackupFormat;
+import team7.hrbank.common.batch.support.BackupManifest;
+import team7.hrbank.common.batch.support.BackupWorkspace;
+import team7.hrbank.common.batch.support.SnapshotTableDumper;
+import team7.hrbank.domain.backup.entity.Backup;
+import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.repository.BackupRepository;
+import team7.hrbank.domain.binary.BackupChunkStore;
+import team7.hrbank.domain.binary.BinaryContentRepository;
+
+/**
+ * Applies {@link BackupRetentionPolicy} to stored backups
+ * <br>
+ * Expired backups are found from backup_history alone, and their files are deleted by name
+ * (artifact or chunk manifest, integrity manifest, table dumps, failure log), so a pass never
+ * lists the storage directory and its cost does not grow with the number of stored artifacts
+ * <br>
+ * Backups are deleted oldest first in batches of batch-size : the records of a batch are deleted
+ * in one transaction, then their files, then the pass pauses before the next batch. A file that
+ * fails to delete is only logged, a record is never left pointing to a deleted file
+ * <br>
+ * Completed backups outside the policy expire, failed and skipped ones once older than failed.
+ * Parents of running incremental backups are always kept
+ */
+@Slf4j
+@Service
+public class BackupLifecycleServiceImpl implements BackupLifecycleService {
+
+  private final BackupRepository backupRepository;
+  private final BinaryContentRepository binaryContentRepository;
+  private final BackupRetentionPolicy retentionPolicy;
+  private final BackupChunkStore chunkStore;
+  private final BackupWorkspace workspace;
+  private final TransactionTemplate transactionTemplate;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  @Value("${hrbank.storage.local.root-path}")
+  private String BACKUP_DIR;
+
+  @Value("${hrbank.backup.retention.failed:7d}")
+  private Duration failedRetention;
+
+  @Value("${hrbank.backup.retention.batch-size:50}")
+  private int batchSize;
+
+  @Value("${hrbank.backup.retention.pause:1s}")
+  private Duration pause;
+
+  @Value("${hrbank.backup.snapshot.tables:departments,change_log,employee_statistics}")
+  private List<String> snapshotTables;
+
+  @Value("${hrbank.backup.workspace.stale-after:6h}")
+  private Duration workspaceStaleAfter;
+
+  public BackupLifecycleServiceImpl(BackupRepository backupRepository,
+      BinaryContentRepository binaryContentRepository, BackupRetentionPolicy retentionPolicy,
+      BackupChunkStore chunkStore, BackupWorkspace workspace,
+      PlatformTransactionManager transactionManager) {
+    this.backupRepository = backupRepository;
+    this.binaryContentRepository = binaryContentRepository;
+    this.retentionPolicy = retentionPolicy;
+    this.chunkStore = chunkStore;
+    this.workspace = workspace;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Async
+  @Override
+  public void applyRetention() {
+    if (!running.compareAndSet(false, true)) {
+      log.info("Backup retention pass already running");
+      return;
+    }
+    try {
+      workspace.cleanupStale(workspaceStaleAfter);
+
+      List<ExpiredBackup> expired = findExpired(Instant.now());
+      if (expired.isEmpty()) {
+        return;
+      }
+      log.info("Backup retention : {} backups expired", expired.size());
+
+      int size = Math.max(1, batchSize);
+      for (int from = 0; from < expired.size(); from += size) {
+        if (from > 0 && !pause()) {
+          return;
+        }
+        delete(expired.subList(from, Math.min(from + size, expired.size())));
+      }
+    } catch (RuntimeException e) {
+      log.error("Backup retention pass failed: {}", e.getMessage(), e);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private List<ExpiredBackup> findExpired(Instant now) {
+    return transactionTemplate.execute(status -> {
+      List<Backup> backups = backupRepository.findAllWithFile();
+
+      List<Backup> completed = backups.stream()
+          .filter(backup -> backup.getStatus() == BackupStatus.COMPLETED)
+          .toList();
+      // 진행 중인 증분 백업의 부모는 아직 최신 완료 백업이 아닐 수 있음
+      List<Long> pinned = backups.stream()
+          .filter(backup -> backup.getStatus() == BackupStatus.IN_PROGRESS)
+          .map(Backup::getParentId)
+          .filter(Objects::nonNull)
+          .toList();
+      Set<Long> kept = retentionPolicy.retained(completed, pinned, now);
+      Instant failedBefore = now.minus(failedRetention);
+
+      return backups.stream()
+          .filter(backup -> switch (backup.getStatus()) {
+            case COMPLETED -> !kept.contains(backup.getId());
+            case FAILED, SKIPPED -> backup.getStartedAt().isBefore(failedBefore);
+            case IN_PROGRESS -> false;
+          })
+          .sorted(Comparator.comparing(Backup::getStartedAt))
+          .map(ExpiredBackup::of)
+          .toList();
+    });
+  }
+
+  private void delete(List<ExpiredBackup> batch) {
+    List<Long> backupIds = batch.stream().map(ExpiredBackup::backupId).toList();
+    List<Long> fileIds = batch.stream()
+        .map(ExpiredBackup::fileId)
+        .filter(Objects::nonNull)
+        .toList();
+
+    transactionTemplate.executeWithoutResult(status -> {
+      backupRepository.deleteAllByIdInBatch(backupIds);
+      binaryContentRepository.deleteAllByIdInBatch(fileIds);
+    });
+    batch.forEach(this::deleteFiles);
+    log.info("Backup retention : deleted backups {}", backupIds);
+  }
+
+  private void deleteFiles(ExpiredBackup expired) {
+    if (expired.fileId() == null) {
+      return;
+    }
+    Long fileId = expired.fileId();
+    Path dir = Path.of(BACKUP_DIR);
+    try {
+      if (expired.status() == BackupStatus.FAILED) {
+        Files.deleteIfExists(dir.resolve(fileId + ".log"));
+        return;
+      }
+      chunkStore.release(fileId);
+      Files.deleteIfExists(dir.resolve(BackupFormat.artifactNameOf(fileId, expired.fileType())));
+      Files.deleteIfExists(dir.resolve(BackupManifest.fileName(fileId)));
+      SnapshotTableDumper.delete(dir, fileId, snapshotTables);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Failed to delete files of backup {} (file {}): {}", expired.backupId(), fileId,
+          e.getMessage());
+    }
+  }
+
+  // 다른 작업에 디스크와 DB 를 양보하도록 배치 사이에 쉼
+  private boolean pause() {
+    try {
+      Thread.sleep(pause.toMillis());
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Backup retention pass interrupted");
+      return false;
+    }
+  }
+
+  private record ExpiredBackup(Long backupId, BackupStatus status, Long fileId, String fileType) {
+
+    static ExpiredBackup of(Backup backup) {
+      return backup.getFile() == null
+          ? new ExpiredBackup(backup.getId(), backup.getStatus(), null, null)
+          : new ExpiredBackup(backup.getId(), backup.getStatus(), backup.getFile().getId(),
+              backup.getFile().getFileType());
+    }
+  }
+}
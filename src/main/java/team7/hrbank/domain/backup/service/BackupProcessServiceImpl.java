@@ -1,27 +1,42 @@
 package team7.hrbank.domain.backup.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Date;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
-import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import team7.hrbank.common.batch.BackupBatchConfig;
+import team7.hrbank.common.batch.support.BackupCompression;
+import team7.hrbank.common.batch.support.BackupFormat;
+import team7.hrbank.common.batch.support.BackupManifest;
+import team7.hrbank.common.batch.support.BackupMetricsCollector;
+import team7.hrbank.common.batch.support.BackupOutputMode;
+import team7.hrbank.common.batch.support.BackupWorkspace;
+import team7.hrbank.common.batch.support.SnapshotTableDumper;
 import team7.hrbank.common.exception.BackupException;
 import team7.hrbank.common.exception.ErrorCode;
 import team7.hrbank.domain.backup.dto.BackupDto;
+import team7.hrbank.domain.backup.dto.BackupMetrics;
+import team7.hrbank.domain.backup.dto.BackupVerifyDto;
 import team7.hrbank.domain.backup.entity.Backup;
+import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.entity.BackupType;
 import team7.hrbank.domain.backup.mapper.BackupMapper;
 import team7.hrbank.domain.backup.repository.BackupRepository;
+import team7.hrbank.domain.binary.BackupChunkStore;
 import team7.hrbank.domain.binary.BinaryContent;
 import team7.hrbank.domain.binary.BinaryContentRepository;
 
@@ -35,13 +50,33 @@ public class BackupProcessServiceImpl implements
   private final BinaryContentRepository binaryContentRepository;
   private final JobLauncher jobLauncher;
   private final Job employeeBackupJob;
+  private final Job incrementalBackupJob;
   private final BackupMapper backupMapper;
+  private final BackupWorkspace workspace;
+  private final BackupChunkStore chunkStore;
+  private final BackupIntegrityService integrityService;
+  private final ChangeWatermark changeWatermark;
+  private final BackupProgressService progressService;
+  private final MeterRegistry meterRegistry;
 
   @Value("${hrbank.storage.local.root-path}")
   private String BACKUP_DIR;
 
-  @Value("${hrbank.storage.file-name}")
-  private String TEMP_BACKUP;
+  @Value("${hrbank.backup.output-mode:MERGE}")
+  private BackupOutputMode outputMode;
+
+  @Value("${hrbank.backup.compression:NONE}")
+  private BackupCompression compression;
+
+  @Value("${hrbank.backup.format:CSV}")
+  private BackupFormat format;
+
+  @Value("${hrbank.backup.dedup.enabled:true}")
+  private boolean dedup;
+
+  // 완료 전에 모든 블록 체크섬을 다시 계산할지 여부, false 면 크기만 비교
+  @Value("${hrbank.backup.verify-on-complete:true}")
+  private boolean verifyOnComplete;
 
   /**
    * Starts the backup process for a given backup ID.
@@ -54,19 +89,41 @@ public class BackupProcessServiceImpl implements
     Backup backup = backupRepository.findById(backupId)
         .orElseThrow(() -> new BackupException(ErrorCode.NOT_FOUND));
 
-    File backupFile = new File(BACKUP_DIR, TEMP_BACKUP);
+    boolean incremental = backup.getType() == BackupType.INCREMENTAL;
 
+    // 증분 백업은 항상 CSV
+    BackupFormat backupFormat = incremental ? BackupFormat.CSV : format;
     BinaryContent saved = binaryContentRepository.save(
-        new BinaryContent("EmployeeBackup-" + backup.getId(), "application/csv",
-            backupFile.length())
+        new BinaryContent("EmployeeBackup-" + backup.getId(), backupFormat.fileType(compression), 0L)
     );
 
+    // 증분 백업, STREAM 모드는 최종 파일({fileId}.csv, .csv.gz 또는 .hrb)에 바로 기록
+    File backupFile = incremental || outputMode == BackupOutputMode.STREAM
+        ? new File(BACKUP_DIR, artifactName(saved))
+        : workspace.mergedFile(backupId).toFile();
+
+    JobExecution execution = null;
     try {
-      JobParameters params = new JobParametersBuilder().addLong("timestamp",
-          System.currentTimeMillis()).toJobParameters();
-      JobExecution execution = jobLauncher.run(employeeBackupJob, params);
+      JobParametersBuilder params = new JobParametersBuilder()
+          .addLong("timestamp", System.currentTimeMillis())
+          .addLong("backupId", backupId)
+          .addLong("fileId", saved.getId());
+
+      if (incremental) {
+        Backup parent = backupRepository.findById(backup.getParentId())
+            .orElseThrow(() -> new BackupException(ErrorCode.NOT_FOUND,
+                "Parent backup not found : " + backup.getParentId()));
+        params.addLong("since", parent.getStartedAt().toEpochMilli());
+        execution = jobLauncher.run(incrementalBackupJob, params.toJobParameters());
+      } else {
+        execution = jobLauncher.run(employeeBackupJob, params.toJobParameters());
+      }
 
       if (execution.getStatus() == BatchStatus.COMPLETED) {
+        if (execution.getExecutionContext().containsKey(BackupBatchConfig.BACKUP_FILE_SIZE)) {
+          saved.updateSize(
+              execution.getExecutionContext().getLong(BackupBatchConfig.BACKUP_FILE_SIZE));
+        }
         onBackupSuccess(backupFile, saved, backup);
       } else {
         throw new Exception();
@@ -75,33 +132,87 @@ public class BackupProcessServiceImpl implements
     } catch (Exception e) {
       onBackupFail(backup, saved, backupId, e);
     } finally {
+      workspace.cleanup(backupId);
+      recordMetrics(backup, saved, execution);
       finishBackupProcess(backup, saved);
     }
 
     return backupMapper.fromEntity(backup);
   }
 
+  /**
+   * Stores throughput metrics of the run on the backup record and publishes them to the
+   * MeterRegistry (GET /actuator/prometheus)
+   * <br>
+   * Metrics are best effort, a failure here never fails the backup
+   */
+  private void recordMetrics(Backup backup, BinaryContent saved, JobExecution execution) {
+    if (execution == null) {
+      return;
+    }
+    try {
+      // 실패한 실행의 파일은 에러 로그이므로 파티션이 기록한 바이트를 사용
+      long artifactBytes = backup.getStatus() == BackupStatus.COMPLETED
+          && saved.getFileSize() != null ? saved.getFileSize() : 0;
+      BackupMetrics metrics = BackupMetricsCollector.collect(execution, artifactBytes);
+      backup.updateMetrics(metrics);
+
+      Tags tags = Tags.of("type", backup.getType().name(), "status", backup.getStatus().name());
+      meterRegistry.timer("hrbank.backup.duration", tags)
+          .record(Duration.ofMillis(metrics.totalMillis()));
+      meterRegistry.summary("hrbank.backup.rows", tags).record(metrics.rowsWritten());
+      meterRegistry.summary("hrbank.backup.bytes", tags).record(metrics.bytesWritten());
+      meterRegistry.counter("hrbank.backup.retries", tags).increment(metrics.retries());
+
+      log.info("Backup {} : {} rows, {} bytes in {} ms ({} rows/s, read {} ms, write {} ms, "
+              + "merge {} ms, {} retries)", backup.getId(), metrics.rowsWritten(),
+          metrics.bytesWritten(), metrics.totalMillis(), (long) metrics.rowsPerSecond(),
+          metrics.readMillis(), metrics.writeMillis(), metrics.mergeMillis(), metrics.retries());
+    } catch (RuntimeException e) {
+      log.warn("Failed to record metrics of backup {}: {}", backup.getId(), e.getMessage());
+    }
+  }
+
   /**
    * Handels successful backup process
-   * @param backupFile temporary backup file
+   * @param backupFile backup file written by the job, merged file in the workspace or final artifact
    * @param saved saved metadata of backup file
    * @param backup saved backup record for backup process
    */
   @Override
   public void onBackupSuccess(File backupFile, BinaryContent saved, Backup backup) {
-    if (!backupFile.exists()) {
-      throw new BackupException(ErrorCode.INTERNAL_SERVER_ERROR);
+    File renamedFile = new File(BACKUP_DIR, artifactName(saved));
+
+    // 스트리밍된 파일은 이미 최종 위치에 있고 크기도 기록되어 있음
+    if (!backupFile.equals(renamedFile)) {
+      if (backupFile.renameTo(renamedFile)) {
+        log.info("Backup file renamed to {}", renamedFile.getAbsolutePath());
+      } else {
+        log.warn("Failed to rename backup file.");
+      }
+      saved.updateSize(renamedFile.length());
     }
 
-    File renamedFile = new File(BACKUP_DIR, saved.getId() + ".csv");
+    // 잘리거나 덜 병합된 파일이 완료로 기록되지 않도록 매니페스트와 대조
+    BackupVerifyDto verified = integrityService.check(saved.getId(), renamedFile.toPath(),
+        verifyOnComplete);
+    if (verified == null || !verified.valid()) {
+      throw new BackupException(ErrorCode.BACKUP_FAILED, verified == null
+          ? "Backup manifest not found"
+          : "Backup file does not match its manifest : size "
+              + (verified.sizeMatches() ? "matches" : "does not match") + ", "
+              + verified.corruptBlockOffsets().size() + " bad blocks");
+    }
 
-    if (backupFile.renameTo(renamedFile)) {
-      log.info("Backup file renamed to {}", renamedFile.getAbsolutePath());
-    } else {
-      log.warn("Failed to rename backup file.");
+    // 이전 백업과 같은 청크는 다시 저장하지 않음
+    if (dedup) {
+      try {
+        chunkStore.store(saved.getId(), renamedFile.toPath());
+      } catch (IOException e) {
+        throw new BackupException(ErrorCode.BACKUP_FAILED, "Error storing backup chunks");
+      }
     }
 
-    saved.updateSize(renamedFile.length());
     backup.addFile(saved);
     backup.success();
   }
@@ -117,12 +228,16 @@ public class BackupProcessServiceImpl implements
   public void onBackupFail(Backup backup, BinaryContent saved, Long backupId, Exception e) {
     log.error("Backup failed for ID {}: {}", backupId, e.getMessage(), e);
     File logFile = new File(BACKUP_DIR, saved.getId() + ".log");
+    Path path = Path.of(BACKUP_DIR, artifactName(saved));
     backup.fail();
     saved.updateFields("BackupFailLog-" + backup.getId(), "text/plain", 0L);
 
     try {
-      Path path = Path.of(BACKUP_DIR + "/" + saved.getId() + ".csv");
       Files.deleteIfExists(path);
+      Files.deleteIfExists(Path.of(BACKUP_DIR, BackupManifest.fileName(saved.getId())));
+      SnapshotTableDumper.deleteAll(Path.of(BACKUP_DIR), saved.getId());
+      // 저장 후 실패한 경우 다른 백업이 참조하지 않는 청크 반환
+      chunkStore.release(saved.getId());
     } catch (IOException exception) {
       log.error("Failed To delete failed backup file: {}", saved.getId());
     }
@@ -138,6 +253,20 @@ public class BackupProcessServiceImpl implements
     }
 
     saved.updateSize(logFile.length());
+    // 보관 정책이 만료된 실패 기록과 함께 로그를 지울 수 있도록 연결
+    backup.addFile(saved);
+  }
+
+  private void releaseChunks(BinaryContent saved) {
+    try {
+      chunkStore.release(saved.getId());
+    } catch (IOException e) {
+      log.error("Failed to release backup chunks: {}", saved.getId());
+    }
+  }
+
+  private String artifactName(BinaryContent saved) {
+    return BackupFormat.ofFileType(saved.getFileType()).artifactName(saved.getId(), compression);
   }
 
   /**
@@ -148,7 +277,16 @@ public class BackupProcessServiceImpl implements
   @Override
   public void finishBackupProcess(Backup backup, BinaryContent saved) {
     backup.endBackup();
-    binaryContentRepository.save(saved);
-    backupRepository.save(backup);
+    try {
+      binaryContentRepository.save(saved);
+      backupRepository.save(backup);
+    } catch (RuntimeException e) {
+      // 완료로 기록되지 못한 백업의 청크는 어떤 기록에서도 참조되지 않으므로 반환
+      releaseChunks(saved);
+      throw e;
+    }
+    changeWatermark.backupFinished(backup.getStartedAt(),
+        backup.getStatus() == BackupStatus.COMPLETED);
+    progressService.finished(backupMapper.fromEntity(backup));
   }
 }
@@ -0,0 +1,21 @@
+package team7.hrbank.domain.backup.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import team7.hrbank.domain.backup.dto.BackupDto;
+
+public interface BackupProgressService {
+
+  /**
+   * Opens a progress stream of a backup
+   * <br>
+   * progress events carry {@link team7.hrbank.domain.backup.dto.BackupProgressDto} while the backup
+   * runs, a single done event carries the final backup record and ends the stream. A backup that
+   * is no longer in progress gets the done event right away
+   */
+  SseEmitter subscribe(Long backupId);
+
+  /**
+   * Sends the final backup record to every subscriber of the backup and closes their streams
+   */
+  void finished(BackupDto backup);
+}
@@ -0,0 +1,120 @@
+package team7.hrbank.domain.backup.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import team7.hrbank.common.batch.support.BackupProgressTracker;
+import team7.hrbank.common.exception.BackupException;
+import team7.hrbank.common.exception.ErrorCode;
+import team7.hrbank.domain.backup.dto.BackupDto;
+import team7.hrbank.domain.backup.dto.BackupProgressDto;
+import team7.hrbank.domain.backup.entity.Backup;
+import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.mapper.BackupMapper;
+import team7.hrbank.domain.backup.repository.BackupRepository;
+
+/**
+ * Pushes progress of running backups to server-sent event subscribers
+ * <br>
+ * Every progress interval, the progress of each subscribed backup is read from
+ * {@link BackupProgressTracker} (memory only) and sent to its subscribers, so following a backup
+ * costs no query after the subscription
+ * <br>
+ * Subscribing and finishing are serialized, so a backup finishing while someone subscribes still
+ * sends its done event exactly once
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackupProgressServiceImpl implements BackupProgressService {
+
+  private static final String PROGRESS_EVENT = "progress";
+  private static final String DONE_EVENT = "done";
+
+  private final BackupRepository backupRepository;
+  private final BackupMapper backupMapper;
+  private final BackupProgressTracker progressTracker;
+
+  private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+  @Value("${hrbank.backup.progress.timeout:30m}")
+  private Duration timeout;
+
+  @Override
+  public SseEmitter subscribe(Long backupId) {
+    SseEmitter emitter = new SseEmitter(timeout.toMillis());
+
+    synchronized (this) {
+      Backup backup = backupRepository.findById(backupId)
+          .orElseThrow(() -> new BackupException(ErrorCode.NOT_FOUND));
+      if (backup.getStatus() != BackupStatus.IN_PROGRESS) {
+        sendDone(emitter, backupMapper.fromEntity(backup));
+        return emitter;
+      }
+      subscribers.computeIfAbsent(backupId, key -> new CopyOnWriteArrayList<>()).add(emitter);
+    }
+
+    emitter.onCompletion(() -> unsubscribe(backupId, emitter));
+    emitter.onTimeout(() -> unsubscribe(backupId, emitter));
+    emitter.onError(e -> unsubscribe(backupId, emitter));
+
+    // 다음 주기까지 기다리지 않도록 현재 진행 상황을 바로 전송
+    progressTracker.progress(backupId).ifPresent(progress -> send(backupId, emitter, progress));
+    return emitter;
+  }
+
+  @Override
+  public void finished(BackupDto backup) {
+    List<SseEmitter> emitters;
+    synchronized (this) {
+      progressTracker.forget(backup.id());
+      emitters = subscribers.remove(backup.id());
+    }
+    if (emitters != null) {
+      emitters.forEach(emitter -> sendDone(emitter, backup));
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${hrbank.backup.progress.interval:1000}")
+  public void push() {
+    subscribers.forEach((backupId, emitters) -> {
+      Optional<BackupProgressDto> progress = progressTracker.progress(backupId);
+      progress.ifPresent(dto -> emitters.forEach(emitter -> send(backupId, emitter, dto)));
+    });
+  }
+
+  private void send(Long backupId, SseEmitter emitter, BackupProgressDto progress) {
+    try {
+      emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(progress));
+    } catch (IOException | IllegalStateException e) {
+      // 클라이언트가 연결을 끊은 경우
+      unsubscribe(backupId, emitter);
+    }
+  }
+
+  private void sendDone(SseEmitter emitter, BackupDto backup) {
+    try {
+      emitter.send(SseEmitter.event().name(DONE_EVENT).data(backup));
+      emitter.complete();
+    } catch (IOException | IllegalStateException e) {
+      log.debug("Failed to send done event of backup {}: {}", backup.id(), e.getMessage());
+    }
+  }
+
+  private void unsubscribe(Long backupId, SseEmitter emitter) {
+    subscribers.computeIfPresent(backupId, (key, emitters) -> {
+      emitters.remove(emitter);
+      return emitters.isEmpty() ? null : emitters;
+    });
+  }
+}
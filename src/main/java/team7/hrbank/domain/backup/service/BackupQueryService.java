@@ -3,6 +3,7 @@ package team7.hrbank.domain.backup.service;
 import team7.hrbank.common.dto.PageResponse;
 import team7.hrbank.domain.backup.dto.BackupDto;
 import team7.hrbank.domain.backup.dto.BackupListRequestDto;
+import team7.hrbank.domain.backup.dto.BackupMetrics;
 import team7.hrbank.domain.backup.entity.BackupStatus;
 
 public interface BackupQueryService {
@@ -14,4 +15,6 @@ public interface BackupQueryService {
   );
 
   BackupDto findLatestBackupByStatus(BackupStatus status);
+
+  BackupMetrics findMetrics(Long backupId);
 }
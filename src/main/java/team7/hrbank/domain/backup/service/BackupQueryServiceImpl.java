@@ -8,8 +8,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import team7.hrbank.common.dto.PageResponse;
+import team7.hrbank.common.exception.BackupException;
+import team7.hrbank.common.exception.ErrorCode;
 import team7.hrbank.domain.backup.dto.BackupDto;
 import team7.hrbank.domain.backup.dto.BackupListRequestDto;
+import team7.hrbank.domain.backup.dto.BackupMetrics;
 import team7.hrbank.domain.backup.entity.Backup;
 import team7.hrbank.domain.backup.entity.BackupStatus;
 import team7.hrbank.domain.backup.mapper.BackupMapper;
@@ -81,7 +84,21 @@ public class BackupQueryServiceImpl implements
   @Transactional(readOnly = true)
   public BackupDto findLatestBackupByStatus(BackupStatus status) {
     Backup backup = backupRepository.findFirstByStatusOrderByStartedAtDesc(status).orElse(null);
-    return backup != null ? backupMapper.fromEntity(backup) : new BackupDto(null, null, null, null, null, null);
+    return backup != null ? backupMapper.fromEntity(backup) : new BackupDto(null, null, null, null, null, null, null, null);
+  }
+
+  /**
+   * Finds throughput metrics recorded for a backup
+   *
+   * @param backupId ID of the backup
+   * @return metrics of the run, null if the run recorded none
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public BackupMetrics findMetrics(Long backupId) {
+    return backupRepository.findById(backupId)
+        .orElseThrow(() -> new BackupException(ErrorCode.NOT_FOUND))
+        .getMetrics();
   }
 
 
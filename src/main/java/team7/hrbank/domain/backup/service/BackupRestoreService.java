@@ -0,0 +1,22 @@
+package team7.hrbank.domain.backup.service;
+
+import team7.hrbank.domain.backup.dto.BackupRestoreDto;
+import team7.hrbank.domain.backup.dto.BackupRestoreStatusDto;
+
+public interface BackupRestoreService {
+
+  /**
+   * Checks the chain of backupId and reserves the restore, the restore itself runs in
+   * {@link #restore(Long)}
+   */
+  BackupRestoreStatusDto start(Long backupId);
+
+  BackupRestoreDto restore(Long backupId);
+
+  /**
+   * Ends a started restore as failed, e.g. when it could not be handed to the executor
+   */
+  void fail(Long backupId, String error);
+
+  BackupRestoreStatusDto findStatus(Long backupId);
+}
@@ -0,0 +1,272 @@
+package team7.hrbank.domain.backup.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.batch.BatchDataSource;
+import org.springframework.boot.autoconfigure.batch.BatchTransactionManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import team7.hrbank.common.batch.support.BackupCompression;
+import team7.hrbank.common.batch.support.BackupFormat;
+import team7.hrbank.common.batch.support.BackupWorkspace;
+import team7.hrbank.common.batch.support.EmployeeRestoreStagingTable;
+import team7.hrbank.common.batch.support.EmployeeUpsertWriter;
+import team7.hrbank.common.exception.BackupException;
+import team7.hrbank.common.exception.ErrorCode;
+import team7.hrbank.domain.backup.dto.BackupRestoreDto;
+import team7.hrbank.domain.backup.dto.BackupRestoreStatusDto;
+import team7.hrbank.domain.backup.dto.BackupVerifyDto;
+import team7.hrbank.domain.backup.entity.Backup;
+import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.entity.BackupType;
+import team7.hrbank.domain.backup.repository.BackupRepository;
+import team7.hrbank.domain.binary.BackupChunkStore;
+import team7.hrbank.domain.binary.BinaryContent;
+import team7.hrbank.domain.binary.BinaryContentRepository;
+import team7.hrbank.domain.emplyee_statistic.service.FullTrendStatisticGenerator;
+
+/**
+ * Restores employees from a completed backup
+ * <br>
+ * An incremental backup is restored by applying its full backup first, then every incremental
+ * backup of the chain in order
+ * <br>
+ * The restore replaces the employees, it does not merge : employees the chain does not contain
+ * (hired after it) are deleted. The chain is loaded into {@link EmployeeRestoreStagingTable} first,
+ * employees is only replaced once every backup of the chain is loaded, in a single transaction,
+ * so a failed restore changes nothing. Departments missing from the database are recreated while
+ * loading and are kept even if the restore fails. Every employee inserted, changed or deleted by
+ * the restore gets a change log, {@link ChangeWatermark} is told about them once the restore
+ * commits, and statistics are rebuilt
+ * <br>
+ * Every artifact of the chain is checked against its manifest before it is applied
+ * <br>
+ * Only one restore runs at a time. {@link #start(Long)} checks the chain and reserves the restore
+ * on the request thread, {@link #restore(Long)} then runs asynchronously and records its progress
+ * and outcome, read with {@link #findStatus(Long)}
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackupRestoreServiceImpl implements BackupRestoreService {
+
+  private final BackupRepository backupRepository;
+  private final BinaryContentRepository binaryContentRepository;
+  private final JobLauncher jobLauncher;
+  private final Job employeeRestoreJob;
+  private final BackupChunkStore chunkStore;
+  private final BackupWorkspace workspace;
+  private final BackupIntegrityService integrityService;
+  private final FullTrendStatisticGenerator trendStatisticGenerator;
+  private final ChangeWatermark changeWatermark;
+  @BatchDataSource
+  private final DataSource batchDataSource;
+  @BatchTransactionManager
+  private final PlatformTransactionManager transactionManager;
+
+  @Value("${hrbank.storage.local.root-path}")
+  private String BACKUP_DIR;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  // 가장 최근 복원의 상태 (GET /api/backups/{id}/restore)
+  private final AtomicReference<BackupRestoreStatusDto> latest = new AtomicReference<>();
+
+  @Override
+  public BackupRestoreStatusDto start(Long backupId) {
+    Deque<Backup> chain = chainOf(backupId);
+    if (!running.compareAndSet(false, true)) {
+      throw new BackupException(ErrorCode.RESTORE_IN_PROGRESS);
+    }
+    BackupRestoreStatusDto status = BackupRestoreStatusDto.started(backupId, chain.size());
+    latest.set(status);
+    return status;
+  }
+
+  @Override
+  public BackupRestoreDto restore(Long backupId) {
+    BackupRestoreStatusDto reserved = latest.get();
+    if (!running.get() || reserved == null || !reserved.backupId().equals(backupId)
+        || reserved.status() != BatchStatus.STARTED) {
+      throw new BackupException(ErrorCode.BAD_REQUEST,
+          "Restore of backup " + backupId + " was not started");
+    }
+
+    long started = System.nanoTime();
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(batchDataSource);
+    EmployeeRestoreStagingTable.Applied applied;
+    Deque<Backup> chain;
+    try {
+      chain = chainOf(backupId);
+      EmployeeRestoreStagingTable.prepare(jdbcTemplate);
+      for (Backup backup : chain) {
+        JobExecution execution = run(backup);
+        long staged = stagedRows(execution);
+        latest.updateAndGet(current -> current.staged(staged));
+      }
+      log.info("Backup {} staged : {} rows from {} backups", backupId,
+          latest.get().rowsStaged(), chain.size());
+
+      // 모든 백업이 적재된 뒤에만 한 트랜잭션으로 사원 테이블 교체
+      applied = new TransactionTemplate(transactionManager).execute(status ->
+          EmployeeRestoreStagingTable.apply(jdbcTemplate, backupId));
+    } catch (RuntimeException e) {
+      dropStagingQuietly(jdbcTemplate);
+      fail(backupId, e.getMessage());
+      throw e;
+    }
+    dropStagingQuietly(jdbcTemplate);
+
+    // 복원이 한 번에 남긴 변경 로그는 이벤트가 없으므로 직접 알려 다음 백업이 복원을 포함하게 함
+    changeWatermark.onChangesCommitted(applied.changeLogs(), Instant.now());
+    // 복원으로 바뀐 인원을 통계에 반영
+    trendStatisticGenerator.initiateReset();
+
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+    long rows = applied.restored() + applied.deleted();
+    double rowsPerSecond = elapsedMillis == 0 ? 0 : rows * 1000.0 / elapsedMillis;
+    log.info("Backup {} restored : {} rows, {} deletes in {} ms ({} rows/s)", backupId,
+        applied.restored(), applied.deleted(), elapsedMillis, (long) rowsPerSecond);
+    BackupRestoreDto result = new BackupRestoreDto(backupId, chain.size(), applied.restored(),
+        applied.deleted(), elapsedMillis, rowsPerSecond);
+    latest.updateAndGet(current -> current.completed(result));
+    running.set(false);
+    return result;
+  }
+
+  private static long stagedRows(JobExecution execution) {
+    long staged = 0;
+    for (StepExecution step : execution.getStepExecutions()) {
+      staged += step.getExecutionContext().getLong(EmployeeUpsertWriter.UPSERTS, 0L);
+      staged += step.getExecutionContext().getLong(EmployeeUpsertWriter.DELETES, 0L);
+    }
+    return staged;
+  }
+
+  @Override
+  public void fail(Long backupId, String error) {
+    BackupRestoreStatusDto status = latest.get();
+    if (status == null || !status.backupId().equals(backupId)
+        || status.status() != BatchStatus.STARTED) {
+      return;
+    }
+    latest.set(status.failed(error));
+    running.set(false);
+    log.error("Restore of backup {} failed : {}", backupId, error);
+  }
+
+  @Override
+  public BackupRestoreStatusDto findStatus(Long backupId) {
+    BackupRestoreStatusDto status = latest.get();
+    if (status == null || !status.backupId().equals(backupId)) {
+      throw new BackupException(ErrorCode.NOT_FOUND,
+          "No restore of backup " + backupId + " since startup");
+    }
+    return status;
+  }
+
+  // 원래 예외를 가리지 않도록 로그만 남김, 남은 테이블은 다음 복원의 prepare 가 지움
+  private void dropStagingQuietly(JdbcTemplate jdbcTemplate) {
+    try {
+      EmployeeRestoreStagingTable.drop(jdbcTemplate);
+    } catch (RuntimeException e) {
+      log.warn("Failed to drop restore staging table: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * @return backups to apply, the full backup first
+   */
+  private Deque<Backup> chainOf(Long backupId) {
+    Deque<Backup> chain = new ArrayDeque<>();
+    Long id = backupId;
+    while (id != null) {
+      Backup backup = backupRepository.findById(id)
+          .orElseThrow(() -> new BackupException(ErrorCode.NOT_FOUND));
+      if (backup.getStatus() != BackupStatus.COMPLETED || backup.getFile() == null) {
+        throw new BackupException(ErrorCode.BAD_REQUEST,
+            "Backup " + backup.getId() + " is not a completed backup");
+      }
+      chain.addFirst(backup);
+      id = backup.getType() == BackupType.INCREMENTAL ? backup.getParentId() : null;
+    }
+    return chain;
+  }
+
+  private JobExecution run(Backup backup) {
+    BinaryContent file = binaryContentRepository.findById(backup.getFile().getId())
+        .orElseThrow(() -> new BackupException(ErrorCode.NOT_FOUND));
+    BackupFormat format = BackupFormat.ofFileType(file.getFileType());
+    BackupCompression compression = BackupFormat.compressionOf(file.getFileType());
+    String artifactName = format.artifactName(file.getId(), compression);
+    Path artifact = Path.of(BACKUP_DIR, artifactName);
+    boolean chunked = chunkStore.contains(file.getId());
+    if (!chunked && !Files.exists(artifact)) {
+      throw new BackupException(ErrorCode.NOT_FOUND, "Backup file not found : " + artifact);
+    }
+    verify(backup, artifact);
+
+    JobExecution execution;
+    try {
+      // 청크로 저장된 백업은 작업 디렉토리에 다시 조립해서 읽음 (파티션마다 임의 위치 접근)
+      if (chunked) {
+        artifact = workspace.prepare(backup.getId()).resolve(artifactName);
+        chunkStore.materialize(file.getId(), artifact);
+      }
+
+      execution = jobLauncher.run(employeeRestoreJob, new JobParametersBuilder()
+          .addLong("timestamp", System.currentTimeMillis())
+          .addLong("backupId", backup.getId())
+          .addString("file", artifact.toAbsolutePath().toString())
+          .addString("format", format.name())
+          .addString("compression", compression.name())
+          .toJobParameters());
+    } catch (Exception e) {
+      throw new BackupException(ErrorCode.RESTORE_FAILED, e.getMessage());
+    } finally {
+      if (chunked) {
+        workspace.cleanup(backup.getId());
+      }
+    }
+
+    if (execution.getStatus() != BatchStatus.COMPLETED) {
+      throw new BackupException(ErrorCode.RESTORE_FAILED,
+          "Restore of backup " + backup.getId() + " ended with " + execution.getStatus());
+    }
+    return execution;
+  }
+
+  /**
+   * Checks every block of the artifact in parallel before its rows are applied
+   * <br>
+   * Backups written before manifests existed are restored unchecked
+   */
+  private void verify(Backup backup, Path artifact) {
+    BackupVerifyDto result = integrityService.check(backup.getFile().getId(), artifact, true);
+    if (result == null) {
+      log.warn("Backup {} has no manifest, restoring without verification", backup.getId());
+      return;
+    }
+    if (!result.valid()) {
+      throw new BackupException(ErrorCode.RESTORE_FAILED, "Backup " + backup.getId()
+          + " is corrupt : " + result.corruptBlockOffsets().size() + " bad blocks, size "
+          + (result.sizeMatches() ? "matches" : "does not match"));
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package team7.hrbank.domain.backup.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import team7.hrbank.domain.backup.entity.Backup;
+import team7.hrbank.domain.backup.entity.BackupType;
+
+/**
+ * Decides which completed backups are kept
+ * <br>
+ * The newest backup of every hour within hourly, of every day within daily and of every month
+ * within monthly is kept, as well as the newest backup overall. Days and months are taken in the
+ * configured zone. A window of 0 disables its tier
+ * <br>
+ * An incremental backup can only be restored on top of its parents, so the whole parent chain of
+ * a kept backup is kept too
+ */
+@Component
+public class BackupRetentionPolicy {
+
+  private final Duration hourly;
+  private final Duration daily;
+  private final Duration monthly;
+  private final ZoneId zone;
+
+  public BackupRetentionPolicy(
+      @Value("${hrbank.backup.retention.hourly:2d}") Duration hourly,
+      @Value("${hrbank.backup.retention.daily:30d}") Duration daily,
+      @Value("${hrbank.backup.retention.monthly:365d}") Duration monthly,
+      @Value("${hrbank.backup.retention.zone:Asia/Seoul}") ZoneId zone) {
+    this.hourly = hourly;
+    this.daily = daily;
+    this.monthly = monthly;
+    this.zone = zone;
+  }
+
+  /**
+   * @param completed completed backups, in any order
+   * @param pinned    backups that must be kept with their chains, e.g. parents of running backups
+   * @return ids of backups to keep
+   */
+  public Set<Long> retained(List<Backup> completed, Collection<Long> pinned, Instant now) {
+    List<Backup> newestFirst = completed.stream()
+        .sorted(Comparator.comparing(Backup::getStartedAt).reversed())
+        .toList();
+
+    Set<Long> kept = new HashSet<>(pinned);
+    if (!newestFirst.isEmpty()) {
+      kept.add(newestFirst.get(0).getId());
+    }
+    keepNewestPerBucket(newestFirst, now, hourly,
+        startedAt -> startedAt.truncatedTo(ChronoUnit.HOURS), kept);
+    keepNewestPerBucket(newestFirst, now, daily,
+        startedAt -> LocalDate.ofInstant(startedAt, zone), kept);
+    keepNewestPerBucket(newestFirst, now, monthly,
+        startedAt -> YearMonth.from(startedAt.atZone(zone)), kept);
+
+    return withParents(kept, completed);
+  }
+
+  private static void keepNewestPerBucket(List<Backup> newestFirst, Instant now, Duration window,
+      Function<Instant, Object> bucketOf, Set<Long> kept) {
+    if (window.isZero() || window.isNegative()) {
+      return;
+    }
+    Instant from = now.minus(window);
+    Set<Object> buckets = new HashSet<>();
+    for (Backup backup : newestFirst) {
+      if (backup.getStartedAt().isBefore(from)) {
+        break;
+      }
+      if (buckets.add(bucketOf.apply(backup.getStartedAt()))) {
+        kept.add(backup.getId());
+      }
+    }
+  }
+
+  private static Set<Long> withParents(Set<Long> kept, List<Backup> completed) {
+    Map<Long, Backup> byId = new HashMap<>();
+    completed.forEach(backup -> byId.put(backup.getId(), backup));
+
+    Set<Long> closure = new HashSet<>();
+    for (Long id : kept) {
+      Long current = id;
+      while (current != null && closure.add(current)) {
+        Backup backup = byId.get(current);
+        current = backup != null && backup.getType() == BackupType.INCREMENTAL
+            ? backup.getParentId()
+            : null;
+      }
+    }
+    return closure;
+  }
+}
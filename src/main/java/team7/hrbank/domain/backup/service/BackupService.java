@@ -2,9 +2,14 @@ package team7.hrbank.domain.backup.service;
 
 import java.util.concurrent.CompletableFuture;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import team7.hrbank.common.dto.PageResponse;
 import team7.hrbank.domain.backup.dto.BackupDto;
 import team7.hrbank.domain.backup.dto.BackupListRequestDto;
+import team7.hrbank.domain.backup.dto.BackupMetrics;
+import team7.hrbank.domain.backup.dto.BackupRestoreDto;
+import team7.hrbank.domain.backup.dto.BackupRestoreStatusDto;
+import team7.hrbank.domain.backup.dto.BackupVerifyDto;
 import team7.hrbank.domain.backup.entity.BackupStatus;
 
 public interface BackupService {
@@ -22,4 +27,19 @@ public interface BackupService {
   );
 
   BackupDto findLatestBackupByStatus(BackupStatus status);
+
+  BackupMetrics findMetrics(Long backupId);
+
+  BackupRestoreStatusDto startRestore(Long backupId);
+
+  @Async
+  CompletableFuture<BackupRestoreDto> restoreBackupAsync(Long backupId);
+
+  void failRestore(Long backupId, String error);
+
+  BackupRestoreStatusDto findRestoreStatus(Long backupId);
+
+  BackupVerifyDto verifyBackup(Long backupId);
+
+  SseEmitter subscribeProgress(Long backupId);
 }
@@ -25,11 +25,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import team7.hrbank.common.dto.PageResponse;
 import team7.hrbank.common.exception.BackupException;
 import team7.hrbank.common.exception.ErrorCode;
 import team7.hrbank.domain.backup.dto.BackupDto;
 import team7.hrbank.domain.backup.dto.BackupListRequestDto;
+import team7.hrbank.domain.backup.dto.BackupMetrics;
+import team7.hrbank.domain.backup.dto.BackupRestoreDto;
+import team7.hrbank.domain.backup.dto.BackupRestoreStatusDto;
+import team7.hrbank.domain.backup.dto.BackupVerifyDto;
 import team7.hrbank.domain.backup.entity.Backup;
 import team7.hrbank.domain.backup.entity.BackupStatus;
 import team7.hrbank.domain.backup.mapper.BackupMapper;
@@ -50,6 +55,10 @@ public class BackupServiceImpl implements BackupService {
   private final BackupQueryService backupQueryService;
   private final BackupProcessService backupProcessService;
   private final BackupValidationService backupValidationService;
+  private final ChangeWatermark changeWatermark;
+  private final BackupRestoreService backupRestoreService;
+  private final BackupIntegrityService backupIntegrityService;
+  private final BackupProgressService backupProgressService;
 
 
   /**
@@ -66,6 +75,8 @@ public class BackupServiceImpl implements BackupService {
 
   /**
    * Creates new backup record if needed
+   * <br>
+   * Backup becomes incremental unless a full backup is due
    * @return new backup record
    */
   @Override
@@ -73,7 +84,10 @@ public class BackupServiceImpl implements BackupService {
     if (!backupValidationService.isBackupNeeded()) {
       return backupValidationService.skipBackup();
     }
-    Backup backup = backupRepository.save(new Backup(Instant.now(), BackupStatus.IN_PROGRESS));
+    Backup backup = new Backup(Instant.now(), BackupStatus.IN_PROGRESS);
+    backupValidationService.findIncrementalParent().ifPresent(backup::asIncremental);
+    backupRepository.save(backup);
+    changeWatermark.backupStarted(backup.getStartedAt());
     return backupMapper.fromEntity(backup);
   }
 
@@ -94,4 +108,50 @@ public class BackupServiceImpl implements BackupService {
     return backupQueryService.findLatestBackupByStatus(status);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public BackupMetrics findMetrics(Long backupId) {
+    return backupQueryService.findMetrics(backupId);
+  }
+
+  @Override
+  public BackupRestoreStatusDto startRestore(Long backupId) {
+    return backupRestoreService.start(backupId);
+  }
+
+  /**
+   * Asynchronously restores a backup reserved by {@link #startRestore(Long)}
+   * @param backupId ID of the backup to restore
+   * @return CompletableFuture containing the result of the restore, failed if the restore failed
+   */
+  @Async
+  @Override
+  public CompletableFuture<BackupRestoreDto> restoreBackupAsync(Long backupId) {
+    try {
+      return CompletableFuture.completedFuture(backupRestoreService.restore(backupId));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  @Override
+  public void failRestore(Long backupId, String error) {
+    backupRestoreService.fail(backupId, error);
+  }
+
+  @Override
+  public BackupRestoreStatusDto findRestoreStatus(Long backupId) {
+    return backupRestoreService.findStatus(backupId);
+  }
+
+  @Override
+  public BackupVerifyDto verifyBackup(Long backupId) {
+    return backupIntegrityService.verify(backupId);
+  }
+
+  @Override
+  public SseEmitter subscribeProgress(Long backupId) {
+    return backupProgressService.subscribe(backupId);
+  }
+
 }
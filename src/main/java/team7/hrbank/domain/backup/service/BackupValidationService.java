@@ -1,28 +1,36 @@
 package team7.hrbank.domain.backup.service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import team7.hrbank.domain.backup.dto.BackupDto;
 import team7.hrbank.domain.backup.entity.Backup;
 import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.entity.BackupType;
 import team7.hrbank.domain.backup.mapper.BackupMapper;
 import team7.hrbank.domain.backup.repository.BackupRepository;
-import team7.hrbank.domain.change_log.service.ChangeLogService;
 
 @Service
 @RequiredArgsConstructor
 public class BackupValidationService {
 
-  private final ChangeLogService changeLogService;
+  private final ChangeWatermark changeWatermark;
   private final BackupRepository backupRepository;
   private final BackupMapper backupMapper;
+
+  // 전체 백업 주기, 0 이면 항상 전체 백업
+  @Value("${hrbank.backup.full-interval:24h}")
+  private Duration fullInterval;
+
+  /**
+   * Compares the in-memory change watermark, no query is run
+   */
   public boolean isBackupNeeded(){
-    Instant latestBackupTime = getLatestBackupTime();
-    Instant latestChangeLogTime = changeLogService.getLatestChannelLogUpdateTime();
     // 백업 시간이 변경 로그보다 최신이면 백업 불필요
-    return latestChangeLogTime.isAfter(latestBackupTime);
-
+    return changeWatermark.isBackupNeeded();
   }
 
   /**
@@ -33,10 +41,27 @@ public class BackupValidationService {
     Backup backup = new Backup(Instant.now(), BackupStatus.SKIPPED);
     backup.endBackup();
     backupRepository.save(backup);
+    changeWatermark.backupFinished(backup.getStartedAt(), true);
     return backupMapper.fromEntity(backup);
   }
-  private Instant getLatestBackupTime() {
-    Backup latestBackup = backupRepository.findFirstByOrderByStartedAtDesc().orElse(null);
-    return latestBackup == null ? Instant.EPOCH : latestBackup.getStartedAt();
+  /**
+   * Finds the backup a new incremental backup should be based on
+   * <br>
+   * Empty when a full backup is due : no completed full backup yet, or the latest one is older than
+   * the full backup interval
+   * @return id of latest completed backup, which becomes parent of the incremental backup
+   */
+  public Optional<Long> findIncrementalParent() {
+    if (fullInterval.isZero()) {
+      return Optional.empty();
+    }
+    Optional<Backup> latestFull = backupRepository.findFirstByStatusAndTypeOrderByStartedAtDesc(
+        BackupStatus.COMPLETED, BackupType.FULL);
+    if (latestFull.isEmpty()
+        || latestFull.get().getStartedAt().plus(fullInterval).isBefore(Instant.now())) {
+      return Optional.empty();
+    }
+    return backupRepository.findFirstByStatusOrderByStartedAtDesc(BackupStatus.COMPLETED)
+        .map(Backup::getId);
   }
 }
@@ -0,0 +1,223 @@
+package team7.hrbank.domain.backup.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import team7.hrbank.domain.backup.entity.Backup;
+import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.repository.BackupRepository;
+import team7.hrbank.domain.change_log.entity.ChangeLog;
+import team7.hrbank.domain.change_log.event.ChangeLogSavedEvent;
+import team7.hrbank.domain.change_log.repository.ChangeLogRepository;
+import team7.hrbank.domain.change_log.service.ChangeLogService;
+
+/**
+ * Committed changes not yet covered by a backup, kept in memory
+ * <br>
+ * A backup covers changes up to its start time once it is completed, or skipped because nothing
+ * changed. A backup in progress covers them too until it fails, so overlapping requests do not
+ * start a second backup for the same changes ({@link #isBackupNeeded()})
+ * <br>
+ * The scheduler starts a backup when the pending changes reach change-threshold, or the oldest
+ * pending change is older than max-age, but never sooner than min-interval after the previous
+ * backup started, and never while a backup is running ({@link #isDue(Instant)})
+ * <br>
+ * Pending changes are only cleared when a backup completes, and only the ones counted before it
+ * started. A failed backup leaves them pending, so the next poll after min-interval retries
+ * <br>
+ * Everything is seeded from the database on startup, then fed by {@link ChangeLogSavedEvent}, by
+ * restores and by the start and finish of every backup. The latest change, covered and running points only move
+ * forward and are atomics, so the backup-needed check is a lock-free comparison. The pending
+ * changes are one immutable snapshot replaced by CAS, so its count and timestamps always change
+ * together without a lock
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeWatermark {
+
+  private static final List<BackupStatus> COVERING = List.of(BackupStatus.COMPLETED,
+      BackupStatus.SKIPPED);
+
+  private final ChangeLogService changeLogService;
+  private final ChangeLogRepository changeLogRepository;
+  private final BackupRepository backupRepository;
+
+  @Value("${hrbank.backup.trigger.change-threshold:1000}")
+  private long changeThreshold;
+
+  @Value("${hrbank.backup.trigger.max-age:1h}")
+  private Duration maxAge;
+
+  @Value("${hrbank.backup.trigger.min-interval:10m}")
+  private Duration minInterval;
+
+  // 백업 필요 여부 : 항상 앞으로만 움직이는 워터마크, 락 없이 비교
+  private final AtomicReference<Instant> latestChangeAt = new AtomicReference<>(Instant.EPOCH);
+  private final AtomicReference<Instant> coveredAt = new AtomicReference<>(Instant.EPOCH);
+  private final AtomicReference<Instant> inProgressAt = new AtomicReference<>();
+
+  // 트리거 상태 : 변경 수와 시각을 하나의 불변 스냅샷으로 두고 CAS 로 교체
+  private final AtomicReference<Instant> lastStartedAt = new AtomicReference<>(Instant.EPOCH);
+  private final AtomicReference<Pending> pending = new AtomicReference<>(Pending.NONE);
+
+  /**
+   * Restores the latest change and the changes since the latest covering backup
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void seed() {
+    Instant covered = backupRepository.findFirstByStatusInOrderByStartedAtDesc(COVERING)
+        .map(Backup::getStartedAt)
+        .orElse(Instant.EPOCH);
+
+    advance(latestChangeAt, changeLogService.getLatestChannelLogUpdateTime());
+    advance(coveredAt, covered);
+    advance(lastStartedAt, covered);
+    Instant oldestAt = changeLogRepository
+        .findFirstByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(covered)
+        .map(ChangeLog::getCreatedAt)
+        .orElse(null);
+    pending.set(new Pending(changeLogRepository.countByCreatedAtGreaterThanEqual(covered),
+        oldestAt, false, 0, null));
+    log.info("Change watermark seeded : latest change {}, covered until {}, {} pending changes",
+        latestChangeAt.get(), coveredAt.get(), getPendingChanges());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onChangeLogSaved(ChangeLogSavedEvent event) {
+    Instant createdAt = event.createdAt() == null ? Instant.now() : event.createdAt();
+    advance(latestChangeAt, createdAt);
+    pending.updateAndGet(current -> current.counted(1, createdAt));
+  }
+
+  /**
+   * Records change logs committed without a {@link ChangeLogSavedEvent}, i.e. written in bulk by a
+   * restore
+   */
+  public void onChangesCommitted(long changes, Instant createdAt) {
+    if (changes <= 0) {
+      return;
+    }
+    advance(latestChangeAt, createdAt);
+    pending.updateAndGet(current -> current.counted(changes, createdAt));
+  }
+
+  /**
+   * @return true when a change was committed after the latest covering or running backup started
+   */
+  public boolean isBackupNeeded() {
+    Instant covered = coveredAt.get();
+    Instant running = inProgressAt.get();
+    if (running != null && running.isAfter(covered)) {
+      covered = running;
+    }
+    return latestChangeAt.get().isAfter(covered);
+  }
+
+  /**
+   * @return true when the scheduler should start a backup now
+   */
+  public boolean isDue(Instant now) {
+    Pending current = pending.get();
+    if (current.running() || current.changes() == 0 || current.oldestAt() == null) {
+      return false;
+    }
+    if (lastStartedAt.get().plus(minInterval).isAfter(now)) {
+      return false;
+    }
+    return current.changes() >= changeThreshold || !current.oldestAt().plus(maxAge).isAfter(now);
+  }
+
+  /**
+   * Marks a backup record as created, pending changes are kept until it completes
+   */
+  public void backupStarted(Instant startedAt) {
+    advance(lastStartedAt, startedAt);
+    inProgressAt.set(startedAt);
+    pending.updateAndGet(Pending::started);
+  }
+
+  /**
+   * Ends a started backup, or records a skipped one that never started
+   * <br>
+   * A completed backup clears the changes counted before it started, changes committed while it
+   * ran stay pending. A skip clears every pending change, since nothing changed after the latest
+   * covering backup. A failed backup clears nothing. A skip requested while another backup runs
+   * covers nothing either, that backup may still fail
+   *
+   * @param covering true when the backup completed or was skipped
+   */
+  public void backupFinished(Instant startedAt, boolean covering) {
+    Instant running = inProgressAt.get();
+    if (running != null && !running.equals(startedAt)) {
+      return;
+    }
+    boolean started = running != null;
+    advance(lastStartedAt, startedAt);
+    if (covering) {
+      // 진행 중 표시를 지우기 전에 덮은 범위를 올려 그 사이 백업 필요로 보이지 않게 함
+      advance(coveredAt, startedAt);
+    }
+    if (started) {
+      pending.updateAndGet(current -> current.finished(covering));
+    } else if (covering) {
+      pending.set(Pending.NONE);
+    }
+    inProgressAt.compareAndSet(startedAt, null);
+  }
+
+  public long getPendingChanges() {
+    return pending.get().changes();
+  }
+
+  private static void advance(AtomicReference<Instant> watermark, Instant value) {
+    if (value != null) {
+      watermark.accumulateAndGet(value, ChangeWatermark::later);
+    }
+  }
+
+  private static Instant later(Instant current, Instant next) {
+    return next != null && next.isAfter(current) ? next : current;
+  }
+
+  /**
+   * Changes not covered by a completed backup
+   *
+   * @param changes          pending changes
+   * @param oldestAt         creation time of the oldest pending change
+   * @param running          true while a backup runs
+   * @param changesAtStart   pending changes when the running backup started
+   * @param oldestSinceStart creation time of the first change after the running backup started
+   */
+  private record Pending(long changes, Instant oldestAt, boolean running, long changesAtStart,
+                         Instant oldestSinceStart) {
+
+    static final Pending NONE = new Pending(0, null, false, 0, null);
+
+    Pending counted(long count, Instant createdAt) {
+      return new Pending(changes + count, oldestAt == null ? createdAt : oldestAt, running,
+          changesAtStart, running && oldestSinceStart == null ? createdAt : oldestSinceStart);
+    }
+
+    Pending started() {
+      return new Pending(changes, oldestAt, true, changes, null);
+    }
+
+    // 완료되면 시작 전 변경만 지우고, 실패하면 그대로 남김
+    Pending finished(boolean completed) {
+      if (!completed) {
+        return new Pending(changes, oldestAt, false, 0, null);
+      }
+      long remaining = Math.max(0, changes - changesAtStart);
+      return new Pending(remaining, remaining > 0 ? oldestSinceStart : null, false, 0, null);
+    }
+  }
+}
@@ -0,0 +1,333 @@
+package team7.hrbank.domain.binary;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.batch.BatchDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Deduplicating store of backup artifacts
+ * <br>
+ * An artifact is split by {@link ContentDefinedChunker}, every unique chunk is stored once as
+ * {root-path}/chunks/{hash[0..2]}/{hash} (SHA-256), and the artifact becomes a manifest
+ * {root-path}/{fileId}.chunks listing its chunks in order. backup_chunks counts the manifests
+ * referencing each chunk, a chunk is deleted when the last manifest is released
+ * <br>
+ * Storing and releasing are serialized against each other in this process, so a chunk is never
+ * deleted while a new manifest is taking a reference on it. The lock is held in memory, so the
+ * store assumes a single application instance writes to root-path, like the rest of the backup
+ * scheduling (ChangeWatermark, BackupProgressService)
+ * <br>
+ * References are taken with one multi-row upsert per ACQUIRE_BATCH_SIZE distinct chunks, not one
+ * statement per chunk
+ */
+@Slf4j
+@Repository
+public class BackupChunkStore {
+
+  public static final String MANIFEST_EXTENSION = "chunks";
+
+  private static final String ACQUIRE_SQL = """
+      INSERT INTO backup_chunks (hash, size, ref_count, created_at) VALUES %s
+      ON CONFLICT (hash) DO UPDATE SET ref_count = backup_chunks.ref_count + 1
+      """;
+  private static final String ACQUIRE_ROW = "(?, ?, 1, now())";
+  private static final int ACQUIRE_BATCH_SIZE = 1000;
+  private static final String RELEASE_SQL =
+      "UPDATE backup_chunks SET ref_count = ref_count - 1 WHERE hash = ?";
+  private static final String PURGE_SQL =
+      "DELETE FROM backup_chunks WHERE ref_count <= 0 RETURNING hash";
+
+  private final Path root;
+  private final Path chunkRoot;
+  private final JdbcTemplate jdbcTemplate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public BackupChunkStore(@Value("${hrbank.storage.local.root-path}") String rootPath,
+      @BatchDataSource DataSource dataSource) {
+    this.root = Path.of(rootPath);
+    this.chunkRoot = root.resolve("chunks");
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public boolean contains(Long fileId) {
+    return Files.exists(manifest(fileId));
+  }
+
+  /**
+   * Moves artifact into the store, the artifact file is deleted once its manifest is written
+   *
+   * @return bytes of chunks that were not stored yet
+   */
+  public long store(Long fileId, Path artifact) throws IOException {
+    List<ChunkRef> refs = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    List<ChunkRef> pending = new ArrayList<>();
+    Set<String> acquired = new LinkedHashSet<>();
+    long newBytes = 0;
+    boolean stored = false;
+
+    lock.readLock().lock();
+    try (InputStream in = Files.newInputStream(artifact)) {
+      ContentDefinedChunker chunker = new ContentDefinedChunker(in);
+      byte[] chunk;
+      while ((chunk = chunker.next()) != null) {
+        String hash = sha256(chunk);
+        refs.add(new ChunkRef(hash, chunk.length));
+        if (seen.add(hash)) {
+          pending.add(new ChunkRef(hash, chunk.length));
+          if (pending.size() == ACQUIRE_BATCH_SIZE) {
+            acquire(pending, acquired);
+          }
+          if (writeIfAbsent(hash, chunk)) {
+            newBytes += chunk.length;
+          }
+        }
+      }
+      acquire(pending, acquired);
+      writeManifest(fileId, refs);
+      stored = true;
+    } finally {
+      lock.readLock().unlock();
+      if (!stored) {
+        releaseQuietly(acquired);
+      }
+    }
+
+    long total = refs.stream().mapToLong(ChunkRef::size).sum();
+    Files.delete(artifact);
+    log.info("Backup file {} stored : {} chunks, {} of {} bytes new", fileId, refs.size(),
+        newBytes, total);
+    return newBytes;
+  }
+
+  /**
+   * Streams the artifact by reading its chunks in order
+   */
+  public InputStream open(Long fileId) throws IOException {
+    return open(fileId, 0);
+  }
+
+  /**
+   * Streams the artifact from offset, only chunks from the one holding offset are read
+   */
+  public InputStream open(Long fileId, long offset) throws IOException {
+    return artifact(fileId).open(offset);
+  }
+
+  /**
+   * Reads the manifest of fileId once, for callers opening the artifact at many offsets
+   */
+  public ChunkedArtifact artifact(Long fileId) throws IOException {
+    return new ChunkedArtifact(readManifest(fileId));
+  }
+
+  private InputStream sequence(Iterator<ChunkRef> chunks) {
+    return new SequenceInputStream(new Enumeration<>() {
+      @Override
+      public boolean hasMoreElements() {
+        return chunks.hasNext();
+      }
+
+      @Override
+      public InputStream nextElement() {
+        try {
+          return Files.newInputStream(chunkPath(chunks.next().hash()));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    });
+  }
+
+  /**
+   * @return size of the reassembled artifact
+   */
+  public long size(Long fileId) throws IOException {
+    return artifact(fileId).size();
+  }
+
+  /**
+   * Reassembles the artifact into target
+   */
+  public void materialize(Long fileId, Path target) throws IOException {
+    try (InputStream in = open(fileId)) {
+      Files.copy(in, target, REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Drops the manifest of fileId and deletes chunks no other manifest references
+   */
+  public void release(Long fileId) throws IOException {
+    if (!contains(fileId)) {
+      return;
+    }
+    Set<String> hashes = new LinkedHashSet<>();
+    readManifest(fileId).forEach(ref -> hashes.add(ref.hash()));
+    release(hashes);
+    Files.deleteIfExists(manifest(fileId));
+  }
+
+  /**
+   * Takes one reference on each pending chunk in a single statement, acquired only records them
+   * once it committed, so a failed store releases exactly what it took
+   */
+  private void acquire(List<ChunkRef> pending, Set<String> acquired) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    String values = String.join(", ", Collections.nCopies(pending.size(), ACQUIRE_ROW));
+    Object[] args = new Object[pending.size() * 2];
+    for (int i = 0; i < pending.size(); i++) {
+      args[i * 2] = pending.get(i).hash();
+      args[i * 2 + 1] = pending.get(i).size();
+    }
+    jdbcTemplate.update(ACQUIRE_SQL.formatted(values), args);
+    pending.forEach(ref -> acquired.add(ref.hash()));
+    pending.clear();
+  }
+
+  private void release(Set<String> hashes) throws IOException {
+    if (hashes.isEmpty()) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      jdbcTemplate.batchUpdate(RELEASE_SQL,
+          hashes.stream().map(hash -> new Object[]{hash}).toList());
+      List<String> purged = jdbcTemplate.queryForList(PURGE_SQL, String.class);
+      for (String hash : purged) {
+        Files.deleteIfExists(chunkPath(hash));
+      }
+      log.info("Released {} chunks, {} deleted", hashes.size(), purged.size());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // 저장 실패 시 잡아 둔 참조를 되돌림, 원래 예외를 가리지 않도록 로그만 남김
+  private void releaseQuietly(Set<String> hashes) {
+    try {
+      release(hashes);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Failed to release chunks of a failed store: {}", e.getMessage());
+    }
+  }
+
+  private boolean writeIfAbsent(String hash, byte[] chunk) throws IOException {
+    Path path = chunkPath(hash);
+    if (Files.exists(path)) {
+      return false;
+    }
+    Files.createDirectories(path.getParent());
+    Path temp = Files.createTempFile(path.getParent(), hash, ".tmp");
+    Files.write(temp, chunk);
+    Files.move(temp, path, ATOMIC_MOVE, REPLACE_EXISTING);
+    return true;
+  }
+
+  private void writeManifest(Long fileId, List<ChunkRef> refs) throws IOException {
+    List<String> lines = refs.stream().map(ref -> ref.hash() + " " + ref.size()).toList();
+    Path temp = Files.createTempFile(root, String.valueOf(fileId), ".tmp");
+    Files.write(temp, lines, UTF_8);
+    Files.move(temp, manifest(fileId), ATOMIC_MOVE, REPLACE_EXISTING);
+  }
+
+  private List<ChunkRef> readManifest(Long fileId) throws IOException {
+    List<ChunkRef> refs = new ArrayList<>();
+    for (String line : Files.readAllLines(manifest(fileId), UTF_8)) {
+      if (line.isBlank()) {
+        continue;
+      }
+      String[] parts = line.split(" ");
+      refs.add(new ChunkRef(parts[0], Integer.parseInt(parts[1])));
+    }
+    return Collections.unmodifiableList(refs);
+  }
+
+  private Path manifest(Long fileId) {
+    return root.resolve(fileId + "." + MANIFEST_EXTENSION);
+  }
+
+  private Path chunkPath(String hash) {
+    return chunkRoot.resolve(hash.substring(0, 2)).resolve(hash);
+  }
+
+  static String sha256(byte[] chunk) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(chunk));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private record ChunkRef(String hash, int size) {
+  }
+
+  /**
+   * Artifact of one manifest, chunk start offsets are indexed so opening at an offset is a binary
+   * search instead of a manifest read
+   */
+  public final class ChunkedArtifact {
+
+    private final List<ChunkRef> refs;
+    private final long[] starts;
+    private final long size;
+
+    private ChunkedArtifact(List<ChunkRef> refs) {
+      this.refs = refs;
+      this.starts = new long[refs.size()];
+      long position = 0;
+      for (int i = 0; i < refs.size(); i++) {
+        starts[i] = position;
+        position += refs.get(i).size();
+      }
+      this.size = position;
+    }
+
+    public long size() {
+      return size;
+    }
+
+    /**
+     * Streams the artifact from offset, only chunks from the one holding offset are read
+     */
+    public InputStream open(long offset) throws IOException {
+      if (offset >= size) {
+        return InputStream.nullInputStream();
+      }
+      int found = Arrays.binarySearch(starts, offset);
+      int first = found >= 0 ? found : -found - 2;
+      InputStream in = sequence(refs.subList(first, refs.size()).iterator());
+      in.skipNBytes(offset - starts[first]);
+      return in;
+    }
+  }
+}
@@ -2,10 +2,12 @@ package team7.hrbank.domain.binary;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 
@@ -17,7 +19,10 @@ public class BinaryController {
     private final BinaryContentService binaryContentService;
 
     @GetMapping("/api/files/{id}/download")
-    public ResponseEntity<Resource> downLoad(@PathVariable Long id) {
-        return localBinaryContentStorage.downloadTmp(id, binaryContentService.findFileTypeById(id));
+    public ResponseEntity<Resource> downLoad(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return localBinaryContentStorage.downloadTmp(id, binaryContentService.findFileTypeById(id),
+            acceptEncoding);
     }
 }
@@ -0,0 +1,95 @@
+package team7.hrbank.domain.binary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits a stream into content-defined chunks with a gear rolling hash
+ * <br>
+ * A boundary is placed where the hash of the last bytes matches a mask, so inserting or removing
+ * rows only changes the chunks around the edit, and the following chunks are cut at the same
+ * content as before
+ * <br>
+ * The gear table is derived from a fixed seed. Changing the seed or sizes changes every boundary
+ * and disables deduplication against existing chunks
+ */
+public class ContentDefinedChunker {
+
+  public static final int MIN_SIZE = 2 * 1024;
+  // 경계 확률 1 / 2^13, 평균 청크 8KB
+  private static final int BOUNDARY_BITS = 13;
+  public static final int AVERAGE_SIZE = 1 << BOUNDARY_BITS;
+  public static final int MAX_SIZE = 64 * 1024;
+
+  private static final long[] GEAR = gearTable(0x6872_6261_6e6bL);
+
+  private final InputStream in;
+  private final byte[] buffer = new byte[MAX_SIZE];
+  private int buffered;
+  private boolean eof;
+
+  public ContentDefinedChunker(InputStream in) {
+    this.in = in;
+  }
+
+  /**
+   * @return next chunk, null at the end of the stream
+   */
+  public byte[] next() throws IOException {
+    fill();
+    if (buffered == 0) {
+      return null;
+    }
+
+    int length = boundary(buffer, buffered);
+    byte[] chunk = Arrays.copyOf(buffer, length);
+    System.arraycopy(buffer, length, buffer, 0, buffered - length);
+    buffered -= length;
+    return chunk;
+  }
+
+  /**
+   * @return length of the chunk starting at the beginning of data
+   */
+  static int boundary(byte[] data, int length) {
+    if (length <= MIN_SIZE) {
+      return length;
+    }
+    int limit = Math.min(length, MAX_SIZE);
+    long hash = 0;
+    for (int i = MIN_SIZE; i < limit; i++) {
+      hash = (hash << 1) + GEAR[data[i] & 0xFF];
+      // 상위 비트는 최근 64 바이트 전체에 의존
+      if (hash >>> (Long.SIZE - BOUNDARY_BITS) == 0) {
+        return i + 1;
+      }
+    }
+    return limit;
+  }
+
+  private void fill() throws IOException {
+    while (!eof && buffered < MAX_SIZE) {
+      int read = in.read(buffer, buffered, MAX_SIZE - buffered);
+      if (read < 0) {
+        eof = true;
+      } else {
+        buffered += read;
+      }
+    }
+  }
+
+  // SplitMix64, 실행 환경과 무관하게 같은 테이블
+  private static long[] gearTable(long seed) {
+    long[] table = new long[256];
+    long state = seed;
+    for (int i = 0; i < table.length; i++) {
+      state += 0x9E3779B97F4A7C15L;
+      long z = state;
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      table[i] = z ^ (z >>> 31);
+    }
+    return table;
+  }
+}
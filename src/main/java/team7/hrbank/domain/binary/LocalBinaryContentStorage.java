@@ -11,7 +11,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.InputStreamResource;
@@ -27,10 +29,17 @@ import team7.hrbank.domain.employee.entity.Employee;
 @Repository
 public class LocalBinaryContentStorage {
 
+    private static final String GZIP = "gzip";
+    // 파일 타입과 확장자가 다른 경우 (gzip 백업은 {id}.csv.gz)
+    private static final Map<String, String> EXTENSIONS = Map.of(GZIP, "csv.gz");
+
     private final Path root;
+    private final BackupChunkStore chunkStore;
 
-    public LocalBinaryContentStorage(@Value("${hrbank.storage.local.root-path}") String root) {
+    public LocalBinaryContentStorage(@Value("${hrbank.storage.local.root-path}") String root,
+        BackupChunkStore chunkStore) {
         this.root = Paths.get(root);
+        this.chunkStore = chunkStore;
     }
 
     public void put(byte[] content, Long id, String fileType) {
@@ -50,20 +59,37 @@ public class LocalBinaryContentStorage {
     }
 
     public ResponseEntity<Resource> downloadTmp(Long id, String fileType){
+        return downloadTmp(id, fileType, null);
+    }
+
+    /**
+     * gzip 백업 파일은 클라이언트가 gzip 을 받을 수 있으면 그대로, 아니면 풀면서 스트리밍
+     * <br>
+     * 청크로 저장된 백업 파일은 manifest 순서대로 청크를 이어 붙여 스트리밍
+     *
+     * @param acceptEncoding Accept-Encoding 요청 헤더
+     */
+    public ResponseEntity<Resource> downloadTmp(Long id, String fileType, String acceptEncoding){
         Path filePath = resolvePath(id, fileType);
+        boolean chunked = chunkStore.contains(id);
 
-        if (!Files.exists(filePath)) {
+        if (!chunked && !Files.exists(filePath)) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
 
+        if (GZIP.equals(fileType)) {
+            return downloadGzip(id, filePath, chunked, acceptsGzip(acceptEncoding));
+        }
+
+        InputStream inputStream = null;
         try {
-            InputStream inputStream = Files.newInputStream(filePath);
+            inputStream = chunked ? chunkStore.open(id) : Files.newInputStream(filePath);
             String contentType = Files.probeContentType(filePath);
             if (contentType == null) {
                 contentType = "application/octet-stream";
             }
 
-            long fileSize = Files.size(filePath);
+            long fileSize = chunked ? chunkStore.size(id) : Files.size(filePath);
             String fileName = filePath.getFileName().toString();
             Resource resource = new InputStreamResource(inputStream);
 
@@ -74,10 +100,62 @@ public class LocalBinaryContentStorage {
                 .body(resource);
 
         } catch (Exception e) {
+            closeQuietly(inputStream);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    private ResponseEntity<Resource> downloadGzip(Long id, Path filePath, boolean chunked,
+        boolean acceptsGzip) {
+        // 본문으로 넘기지 못한 스트림은 여기서 닫음
+        InputStream inputStream = null;
+        try {
+            inputStream = chunked ? chunkStore.open(id) : Files.newInputStream(filePath);
+            long fileSize = chunked ? chunkStore.size(id) : Files.size(filePath);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + id + ".csv\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.parseMediaType("text/csv"));
+
+            if (acceptsGzip) {
+                return builder
+                    .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(fileSize))
+                    .body(new InputStreamResource(inputStream));
+            }
+            // multi-member gzip 도 GZIPInputStream 이 이어서 풀어줌
+            return builder.body(new InputStreamResource(new GZIPInputStream(inputStream, 64 * 1024)));
+
+        } catch (Exception e) {
+            closeQuietly(inputStream);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        if (inputStream == null) {
+            return;
+        }
+        try {
+            inputStream.close();
+        } catch (IOException ignored) {
+            // 이미 500 으로 응답하는 중이라 닫기 실패는 무시
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP) || parts[0].trim().equals("*")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
     /*========================== 여기까지 지우셔도 됩니다 =======================================*/
 
     public void backUpEmployeeToCsv(List<Employee> employeeList){
@@ -87,6 +165,6 @@ public class LocalBinaryContentStorage {
      * 편의
      */
     private Path resolvePath(Long id, String fileType) {
-        return root.resolve(id.toString() + "." + fileType);
+        return root.resolve(id.toString() + "." + EXTENSIONS.getOrDefault(fileType, fileType));
     }
 }
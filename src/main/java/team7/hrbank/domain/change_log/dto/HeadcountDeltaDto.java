@@ -0,0 +1,13 @@
+package team7.hrbank.domain.change_log.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Hires minus deletions recorded for one capture date
+ */
+public record HeadcountDeltaDto(
+    LocalDate captureDate,
+    Long delta
+) {
+
+}
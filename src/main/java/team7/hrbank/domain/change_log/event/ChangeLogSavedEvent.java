@@ -0,0 +1,15 @@
+package team7.hrbank.domain.change_log.event;
+
+import java.time.Instant;
+import team7.hrbank.domain.change_log.entity.ChangeLogType;
+
+/**
+ * Published whenever a change log is saved
+ */
+public record ChangeLogSavedEvent(
+    String employeeNumber,
+    ChangeLogType type,
+    Instant createdAt
+) {
+
+}
@@ -18,6 +18,10 @@ public interface ChangeLogRepository extends JpaRepository<ChangeLog, Long>,
 
   Optional<ChangeLog> findFirstByOrderByCreatedAtDesc();
 
+  long countByCreatedAtGreaterThanEqual(Instant since);
+
+  Optional<ChangeLog> findFirstByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(Instant since);
+
   @Query("""
         SELECT new team7.hrbank.domain.change_log.dto.ChangeLogDashboardDto(cl.createdAt, cl.employeeNumber, cl.type)
         FROM ChangeLog cl
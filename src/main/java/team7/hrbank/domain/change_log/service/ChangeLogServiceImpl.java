@@ -8,6 +8,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import team7.hrbank.common.dto.PageResponse;
 import team7.hrbank.common.exception.change_log.ChangeLogNotFoundException;
@@ -16,6 +17,7 @@ import team7.hrbank.domain.change_log.dto.ChangeLogRequestDto;
 import team7.hrbank.domain.change_log.dto.DiffDto;
 import team7.hrbank.domain.change_log.entity.ChangeLog;
 import team7.hrbank.domain.change_log.entity.ChangeLogType;
+import team7.hrbank.domain.change_log.event.ChangeLogSavedEvent;
 import team7.hrbank.domain.change_log.repository.ChangeLogRepository;
 import team7.hrbank.domain.employee.dto.EmployeeDto;
 
@@ -25,6 +27,7 @@ import team7.hrbank.domain.employee.dto.EmployeeDto;
 public class ChangeLogServiceImpl implements ChangeLogService {
 
   private final ChangeLogRepository changeLogRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   //직원 생성 시 로그 저장
   @Override
@@ -47,7 +50,7 @@ public class ChangeLogServiceImpl implements ChangeLogService {
         details,
         employee.hireDate()
     );
-    changeLogRepository.save(log);
+    saveAndPublish(log);
   }
 
   //직원 수정 시 로그 저장
@@ -64,7 +67,7 @@ public class ChangeLogServiceImpl implements ChangeLogService {
         diffDto,
         null
     );
-    changeLogRepository.save(log);
+    saveAndPublish(log);
   }
 
   //직원 삭제 시 로그 저장
@@ -89,7 +92,7 @@ public class ChangeLogServiceImpl implements ChangeLogService {
         details,
         LocalDate.now()
     );
-    changeLogRepository.save(log);
+    saveAndPublish(log);
   }
 
   //수정 이력 로그 조회
@@ -159,4 +162,11 @@ public class ChangeLogServiceImpl implements ChangeLogService {
     ChangeLog latestLog = changeLogRepository.findFirstByOrderByCreatedAtDesc().orElse(null);
     return latestLog == null ? Instant.EPOCH : latestLog.getCreatedAt();
   }
+
+  // 저장 후 백업 트리거 등이 변경을 알 수 있도록 이벤트 발행
+  private void saveAndPublish(ChangeLog log) {
+    ChangeLog saved = changeLogRepository.save(log);
+    eventPublisher.publishEvent(
+        new ChangeLogSavedEvent(saved.getEmployeeNumber(), saved.getType(), saved.getCreatedAt()));
+  }
 }
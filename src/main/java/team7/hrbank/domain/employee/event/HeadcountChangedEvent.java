@@ -0,0 +1,17 @@
+package team7.hrbank.domain.employee.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published when an employee is created (delta +1) or deleted (delta -1)
+ * <br>
+ * effectiveDate is the capture date of the matching change log : the hire date on creation, the
+ * deletion date on deletion. Headcounts of every day from effectiveDate on change by delta
+ */
+public record HeadcountChangedEvent(
+    String employeeNumber,
+    LocalDate effectiveDate,
+    int delta
+) {
+
+}
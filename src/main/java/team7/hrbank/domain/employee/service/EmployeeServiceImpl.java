@@ -1,10 +1,12 @@
 package team7.hrbank.domain.employee.service;
 
 import com.querydsl.core.util.StringUtils;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -23,6 +25,7 @@ import team7.hrbank.domain.employee.dto.EmployeeDto;
 import team7.hrbank.domain.employee.dto.EmployeeFindRequest;
 import team7.hrbank.domain.employee.dto.EmployeeUpdateRequest;
 import team7.hrbank.domain.employee.entity.Employee;
+import team7.hrbank.domain.employee.event.HeadcountChangedEvent;
 import team7.hrbank.domain.employee.mapper.EmployeeMapper;
 import team7.hrbank.domain.employee.repository.CustomEmployeeRepository;
 import team7.hrbank.domain.employee.repository.EmployeeRepository;
@@ -40,6 +43,7 @@ public class EmployeeServiceImpl implements EmployeeService {
   private final DepartmentService departmentService;
   private final ChangeLogService changeLogService;
   private final DepartmentRepository departmentRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
 
   // 직원 등록
@@ -73,6 +77,10 @@ public class EmployeeServiceImpl implements EmployeeService {
     changeLogService.logEmployeeCreated(employeeMapper.fromEntity(createdEmployee), request.memo(),
         ipAddress);
 
+    // 커밋 후 통계 반영
+    eventPublisher.publishEvent(
+        new HeadcountChangedEvent(createdEmployee.getEmployeeNumber(), request.hireDate(), 1));
+
     // employeeDto로 반환
     return employeeMapper.fromEntity(createdEmployee);
   }
@@ -217,6 +225,10 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     // ChangeLog 저장
     changeLogService.logEmployeeDeleted(delete, ipAddress);
+
+    // 커밋 후 통계 반영
+    eventPublisher.publishEvent(
+        new HeadcountChangedEvent(delete.employeeNumber(), LocalDate.now(), -1));
   }
 
 
@@ -5,7 +5,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import team7.hrbank.domain.emplyee_statistic.repository.EmployeeStatisticRepository;
 import team7.hrbank.domain.emplyee_statistic.service.FullTrendStatisticGenerator;
 import team7.hrbank.domain.emplyee_statistic.service.TrendUpdater;
 
@@ -15,12 +14,11 @@ import team7.hrbank.domain.emplyee_statistic.service.TrendUpdater;
 public class StatController {
 
   private final TrendUpdater trendUpdater;
-  private final EmployeeStatisticRepository statisticRepository;
   private final FullTrendStatisticGenerator fullTrendStatisticGenerator;
 
   /**
    * This is controller for updating employee statistics for today's date
-   * This task is relatively short compared to /all api
+   * This task is relatively short compared to /all api, and runs in the background
    */
   @PostMapping("/today")
   public ResponseEntity<String> runDailyStatistic() {
@@ -30,11 +28,12 @@ public class StatController {
 
   /**
    * This is controller for resetting trend statistics and creates new statistics.
-   * This controller is for situations where new employee's hire date is not today.
+   * Back-dated hires are recomputed automatically from their hire date,
+   * this is for rebuilding the whole series.
+   * Current statistics stay readable until the rebuilt ones are swapped in.
    */
   @PostMapping("/all")
-  public ResponseEntity<String> runReset() throws Exception {
-    statisticRepository.deleteAll();
+  public ResponseEntity<String> runReset() {
     fullTrendStatisticGenerator.initiateReset();
     return ResponseEntity.ok("Reset Started");
   }
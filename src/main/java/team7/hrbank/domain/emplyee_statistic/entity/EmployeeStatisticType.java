@@ -1,5 +1,41 @@
 package team7.hrbank.domain.emplyee_statistic.entity;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Granularity of employee statistics
+ * <br>
+ * A statistic is stored on the first day of its bucket (weeks start on Monday) and holds the
+ * headcount at the last day of the bucket, or today for the current bucket
+ */
 public enum EmployeeStatisticType {
-  YEAR, QUARTER, MONTH, WEEK, DAY
+  YEAR, QUARTER, MONTH, WEEK, DAY;
+
+  /**
+   * @return first day of the bucket holding date, the capture date of its statistic
+   */
+  public LocalDate bucketStart(LocalDate date) {
+    return switch (this) {
+      case YEAR -> date.withDayOfYear(1);
+      case QUARTER -> date.withMonth((date.getMonthValue() - 1) / 3 * 3 + 1).withDayOfMonth(1);
+      case MONTH -> date.withDayOfMonth(1);
+      case WEEK -> date.with(DayOfWeek.MONDAY);
+      case DAY -> date;
+    };
+  }
+
+  /**
+   * @return last day of the bucket holding date
+   */
+  public LocalDate bucketEnd(LocalDate date) {
+    LocalDate start = bucketStart(date);
+    return switch (this) {
+      case YEAR -> start.plusYears(1).minusDays(1);
+      case QUARTER -> start.plusMonths(3).minusDays(1);
+      case MONTH -> start.plusMonths(1).minusDays(1);
+      case WEEK -> start.plusDays(6);
+      case DAY -> start;
+    };
+  }
 }
@@ -4,6 +4,9 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatisticType;
 import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatistic;
 
@@ -15,4 +18,20 @@ public interface EmployeeStatisticRepository extends JpaRepository<EmployeeStati
       LocalDate to, EmployeeStatisticType type);
 
   Optional<EmployeeStatistic> findByTypeAndCaptureDate(EmployeeStatisticType type, LocalDate captureDate);
+
+  /**
+   * Adds delta to one statistic in a single UPDATE, so concurrent changes never overwrite each
+   * other. A count never goes below 0
+   *
+   * @return number of updated rows, 0 when the statistic does not exist yet
+   */
+  @Modifying
+  @Query("""
+        UPDATE EmployeeStatistic s
+        SET s.employeeCount = CASE WHEN s.employeeCount + :delta < 0 THEN 0
+            ELSE s.employeeCount + :delta END
+        WHERE s.type = :type AND s.captureDate = :captureDate
+      """)
+  int incrementEmployeeCount(@Param("type") EmployeeStatisticType type,
+      @Param("captureDate") LocalDate captureDate, @Param("delta") int delta);
 }
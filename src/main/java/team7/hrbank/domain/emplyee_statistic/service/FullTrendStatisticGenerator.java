@@ -1,72 +1,106 @@
 package team7.hrbank.domain.emplyee_statistic.service;
 
-import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
-import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+/**
+ * Runs full statistics rebuilds and partial recomputes, one at a time
+ * <br>
+ * A full rebuild writes a staging table and swaps it in, so changes committed while it runs may
+ * be missing from the new table. Recomputes requested meanwhile (see {@link #isRebuilding()}) are
+ * held back and run after the swap, on the new table
+ */
 @Slf4j
 @Component
 public class FullTrendStatisticGenerator {
 
   private final JobLauncher jobLauncher;
-  private final Job fullDailyStatisticsJob;
+  private final Job statisticsRollupJob;
+  private final Job statisticsRecomputeJob;
+
+  private final AtomicBoolean resetPending = new AtomicBoolean();
+  // 실행 대기 중인 부분 재계산의 가장 이른 시작일
+  private final AtomicReference<LocalDate> pendingFrom = new AtomicReference<>();
+  private final AtomicBoolean running = new AtomicBoolean();
+  private volatile boolean rebuilding;
 
   public FullTrendStatisticGenerator(JobLauncher jobLauncher,
-      @Qualifier("fullDailyStatisticsJob") Job fullDailyStatisticsJob,
-      @Qualifier("fullWeeklyStatisticsJob") Job fullWeeklyStatisticsJob,
-      @Qualifier("fullMonthlyStatisticsJob") Job fullMonthlyStatisticsJob,
-      @Qualifier("fullQuarterlyStatisticsJob") Job fullQuaterlyStatisticsJob,
-      @Qualifier("fullYearlyStatisticsJob") Job fullYearlyStatisticsJob) {
+      @Qualifier("statisticsRollupJob") Job statisticsRollupJob,
+      @Qualifier("statisticsRecomputeJob") Job statisticsRecomputeJob) {
     this.jobLauncher = jobLauncher;
-    this.fullDailyStatisticsJob = fullDailyStatisticsJob;
-    this.fullWeeklyStatisticsJob = fullWeeklyStatisticsJob;
-    this.fullMonthlyStatisticsJob = fullMonthlyStatisticsJob;
-    this.fullQuaterlyStatisticsJob = fullQuaterlyStatisticsJob;
-    this.fullYearlyStatisticsJob = fullYearlyStatisticsJob;
+    this.statisticsRollupJob = statisticsRollupJob;
+    this.statisticsRecomputeJob = statisticsRecomputeJob;
   }
 
-  private final Job fullWeeklyStatisticsJob;
-  private final Job fullMonthlyStatisticsJob;
-  private final Job fullQuaterlyStatisticsJob;
-  private final Job fullYearlyStatisticsJob;
-
   @Async
-  public void initiateReset() throws Exception {
+  public void initiateReset() {
     log.info("Starting Rest Batch Jobs");
-    runStatisticsJob();
+    resetPending.set(true);
+    drain();
   }
 
+  /**
+   * Rebuilds statistics from from to today, after a change effective before today
+   * <br>
+   * Requests arriving while a job runs are merged : the next run starts from the earliest date
+   * requested meanwhile, so a burst of back-dated changes costs one or two runs
+   */
+  @Async
+  public void recomputeFrom(LocalDate from) {
+    pendingFrom.accumulateAndGet(from,
+        (current, next) -> current == null || next.isBefore(current) ? next : current);
+    drain();
+  }
 
-  private void runStatisticsJob() throws Exception {
-    log.info("Starting Daily Full Statistics Job...");
-    JobParameters params = new JobParametersBuilder().addLong("timestamp",
-        System.currentTimeMillis()).toJobParameters();
-    jobLauncher.run(fullDailyStatisticsJob, params);
-
-    log.info("Starting Weekly Full Statistics Job...");
-    JobParameters params2 = new JobParametersBuilder().addLong("timestamp",
-        System.currentTimeMillis()).toJobParameters();
-    jobLauncher.run(fullWeeklyStatisticsJob, params2);
-
-    log.info("Starting Monthly Full Statistics Job...");
-    JobParameters params3 = new JobParametersBuilder().addLong("timestamp",
-        System.currentTimeMillis()).toJobParameters();
-    jobLauncher.run(fullMonthlyStatisticsJob, params3);
+  /**
+   * @return true while a full rebuild is requested or running
+   */
+  public boolean isRebuilding() {
+    return rebuilding || resetPending.get();
+  }
 
-    log.info("Starting Quaterly Full Statistics Job...");
-    JobParameters params4 = new JobParametersBuilder().addLong("timestamp",
-        System.currentTimeMillis()).toJobParameters();
-    jobLauncher.run(fullQuaterlyStatisticsJob, params4);
+  private void drain() {
+    while ((resetPending.get() || pendingFrom.get() != null)
+        && running.compareAndSet(false, true)) {
+      try {
+        if (resetPending.getAndSet(false)) {
+          rebuilding = true;
+          try {
+            runStatisticsJob(statisticsRollupJob, null);
+          } finally {
+            rebuilding = false;
+          }
+        }
+        LocalDate start;
+        while (!resetPending.get() && (start = pendingFrom.getAndSet(null)) != null) {
+          runStatisticsJob(statisticsRecomputeJob, start);
+        }
+      } catch (Exception e) {
+        log.error("Statistics job failed: {}", e.getMessage(), e);
+      } finally {
+        running.set(false);
+      }
+    }
+  }
 
-    log.info("Starting Quaterly Full Statistics Job...");
-    JobParameters params5 = new JobParametersBuilder().addLong("timestamp",
-        System.currentTimeMillis()).toJobParameters();
-    jobLauncher.run(fullYearlyStatisticsJob, params5);
+  /**
+   * @param from first day to recompute, null for a full rebuild
+   */
+  private void runStatisticsJob(Job job, LocalDate from) throws Exception {
+    log.info("Starting {} from {}...", job.getName(), from == null ? "start" : from);
+    JobParametersBuilder params = new JobParametersBuilder().addLong("timestamp",
+        System.currentTimeMillis());
+    if (from != null) {
+      params.addString("from", from.toString());
+    }
+    jobLauncher.run(job, params.toJobParameters());
   }
 }
@@ -0,0 +1,68 @@
+package team7.hrbank.domain.emplyee_statistic.service;
+
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import team7.hrbank.domain.employee.event.HeadcountChangedEvent;
+import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatisticType;
+import team7.hrbank.domain.emplyee_statistic.repository.EmployeeStatisticRepository;
+
+/**
+ * Keeps statistics of the current buckets up to date as employees are created and deleted
+ * <br>
+ * Each committed {@link HeadcountChangedEvent} is applied as an atomic increment of today's DAY
+ * statistic and of the WEEK / MONTH / QUARTER / YEAR statistics containing today, so the trend
+ * reflects the change within seconds instead of at the next daily batch
+ * <br>
+ * When one of those statistics does not exist yet (e.g. the daily batch has not run today), the
+ * current buckets are recounted once by {@link TrendUpdater}. A change effective after today is
+ * left to the daily batch of that day
+ * <br>
+ * A change effective before today (a back-dated hire) also changes every past statistic from its
+ * date on, so the suffix of the series from that date is rebuilt by
+ * {@link FullTrendStatisticGenerator#recomputeFrom}. So is a change applied during a full rebuild,
+ * since the increment goes to the table about to be replaced
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HeadcountStatisticMaintainer {
+
+  private final EmployeeStatisticRepository statisticRepository;
+  private final TrendUpdater trendUpdater;
+  private final FullTrendStatisticGenerator trendStatisticGenerator;
+
+  @Async
+  @TransactionalEventListener
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onHeadcountChanged(HeadcountChangedEvent event) {
+    apply(event, LocalDate.now());
+  }
+
+  public void apply(HeadcountChangedEvent event, LocalDate today) {
+    if (event.effectiveDate().isAfter(today)) {
+      return;
+    }
+
+    boolean missing = false;
+    for (EmployeeStatisticType type : EmployeeStatisticType.values()) {
+      int updated = statisticRepository.incrementEmployeeCount(type, type.bucketStart(today),
+          event.delta());
+      missing |= updated == 0;
+    }
+
+    if (missing) {
+      log.info("Statistics of {} not found, recounting current buckets", today);
+      trendUpdater.runDailyBatch();
+    }
+
+    if (event.effectiveDate().isBefore(today) || trendStatisticGenerator.isRebuilding()) {
+      trendStatisticGenerator.recomputeFrom(event.effectiveDate());
+    }
+  }
+}
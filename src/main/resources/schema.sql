@@ -45,6 +45,12 @@ CREATE TABLE change_log (
     created_at TIMESTAMPTZ NOT NULL
 );
 
+-- 백업 필요 여부 판단, 증분 백업의 변경 조회 (created_at 기준)
+CREATE INDEX idx_change_log_created_at ON change_log (created_at);
+
+-- 통계 재계산 시 입사/퇴사 이벤트를 capture_date 순으로 한 번에 조회
+CREATE INDEX idx_change_log_type_capture_date ON change_log (type, capture_date);
+
 
 CREATE TABLE backup_history (
     id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
@@ -53,7 +59,19 @@ CREATE TABLE backup_history (
     end_time TIMESTAMPTZ NULL,
     status VARCHAR(50) NOT NULL CHECK (status IN ('IN_PROGRESS', 'COMPLETED', 'FAILED', 'SKIPPED')),
     file_id BIGINT NULL,
-    CONSTRAINT fk_backup_history_file FOREIGN KEY (file_id) REFERENCES binary_contents (id) ON DELETE SET NULL
+    type VARCHAR(20) NOT NULL DEFAULT 'FULL' CHECK (type IN ('FULL', 'INCREMENTAL')),
+    parent_id BIGINT NULL,
+    metrics JSONB NULL,
+    CONSTRAINT fk_backup_history_file FOREIGN KEY (file_id) REFERENCES binary_contents (id) ON DELETE SET NULL,
+    CONSTRAINT fk_backup_history_parent FOREIGN KEY (parent_id) REFERENCES backup_history (id) ON DELETE SET NULL
+);
+
+-- 중복 제거 백업 저장소의 청크 (SHA-256), 이 청크를 참조하는 manifest 수
+CREATE TABLE backup_chunks (
+    hash CHAR(64) PRIMARY KEY,
+    size INT NOT NULL,
+    ref_count INT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL
 );
 
 CREATE TABLE employee_statistics (
@@ -0,0 +1,107 @@
+package team7.hrbank.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import team7.hrbank.common.batch.support.EmployeeBackupReaders;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+
+/**
+ * PAGING, CURSOR 백업 리더 비교 (PostgreSQL, 100만 건)
+ * <br>
+ * ./gradlew test -Dhrbank.benchmark=true --tests "*BackupReaderBenchmarkTest"
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "hrbank.benchmark", matches = "true")
+public class BackupReaderBenchmarkTest {
+
+  private static final Logger log = LoggerFactory.getLogger(BackupReaderBenchmarkTest.class);
+
+  private static final int ROWS = 1_000_000;
+  private static final int FETCH_SIZE = 1000;
+
+  @Autowired
+  private DataSource dataSource;
+
+  private JdbcTemplate jdbcTemplate;
+  private long minId;
+  private long maxId;
+
+  @BeforeEach
+  void seed() {
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.update("INSERT INTO departments (name, description, established_date, created_at) "
+        + "VALUES ('bench', 'bench', now(), now())");
+    Long departmentId = jdbcTemplate.queryForObject(
+        "SELECT id FROM departments WHERE name = 'bench'", Long.class);
+
+    jdbcTemplate.update("INSERT INTO employees "
+        + "(department_id, employee_number, name, email, job_title, hire_date, status, created_at) "
+        + "SELECT ?, 'BENCH-' || g, 'name' || g, 'bench' || g || '@hrbank.com', 'engineer', "
+        + "now(), 'ACTIVE', now() FROM generate_series(1, ?) g", departmentId, ROWS);
+    jdbcTemplate.execute("ANALYZE employees");
+
+    minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employees", Long.class);
+    maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM employees", Long.class);
+  }
+
+  @AfterEach
+  void cleanup() {
+    jdbcTemplate.update("DELETE FROM employees WHERE employee_number LIKE 'BENCH-%'");
+    jdbcTemplate.update("DELETE FROM departments WHERE name = 'bench'");
+  }
+
+  @Test
+  @DisplayName("100만 건 기준 PAGING, CURSOR 리더 처리 시간 비교")
+  void compareReaders() throws Exception {
+    // warm up
+    read(EmployeeBackupReaders.cursor(dataSource, minId, maxId, FETCH_SIZE));
+
+    long pagingStart = System.nanoTime();
+    long pagingRows = read(EmployeeBackupReaders.paging(dataSource, minId, maxId, FETCH_SIZE));
+    long pagingMillis = (System.nanoTime() - pagingStart) / 1_000_000;
+
+    long cursorStart = System.nanoTime();
+    long cursorRows = read(EmployeeBackupReaders.cursor(dataSource, minId, maxId, FETCH_SIZE));
+    long cursorMillis = (System.nanoTime() - cursorStart) / 1_000_000;
+
+    log.info("PAGING : {} rows in {} ms ({} rows/s)", pagingRows, pagingMillis,
+        pagingRows * 1000 / Math.max(pagingMillis, 1));
+    log.info("CURSOR : {} rows in {} ms ({} rows/s)", cursorRows, cursorMillis,
+        cursorRows * 1000 / Math.max(cursorMillis, 1));
+
+    assertThat(pagingRows).isGreaterThanOrEqualTo(ROWS);
+    assertThat(cursorRows).isEqualTo(pagingRows);
+  }
+
+  private static long read(ItemStreamReader<EmployeeDepartmentDto> reader) throws Exception {
+    if (reader instanceof InitializingBean initializing) {
+      initializing.afterPropertiesSet();
+    }
+    reader.open(new ExecutionContext());
+    long rows = 0;
+    try {
+      while (reader.read() != null) {
+        rows++;
+      }
+    } finally {
+      reader.close();
+    }
+    return rows;
+  }
+}
@@ -9,6 +9,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import team7.hrbank.domain.backup.dto.BackupDto;
 import team7.hrbank.domain.backup.entity.Backup;
 import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.entity.BackupType;
 import team7.hrbank.domain.backup.mapper.BackupMapper;
 import team7.hrbank.domain.binary.BinaryContent;
 
@@ -21,7 +22,8 @@ public class BackupMapperTest {
   @Test
   void EntityToDTOMappingTest(){
     BinaryContent content = new BinaryContent("test", "testType", 1L);
-    Backup backup = new Backup(1L, content, "worker", Instant.EPOCH, Instant.EPOCH, BackupStatus.COMPLETED);
+    Backup backup = new Backup(1L, content, "worker", Instant.EPOCH, Instant.EPOCH, BackupStatus.COMPLETED,
+        BackupType.INCREMENTAL, 2L, null);
 
     BackupDto dto = backupMapper.fromEntity(backup);
 
@@ -31,5 +33,7 @@ public class BackupMapperTest {
     assertThat(dto.startedAt()).isEqualTo(Instant.EPOCH);
     assertThat(dto.endedAt()).isEqualTo(Instant.EPOCH);
     assertThat(dto.status()).isEqualTo(BackupStatus.COMPLETED);
+    assertThat(dto.type()).isEqualTo(BackupType.INCREMENTAL);
+    assertThat(dto.parentId()).isEqualTo(2L);
   }
 }
@@ -0,0 +1,59 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team7.hrbank.common.batch.support.BackupFileMerger;
+
+public class BackupFileMergerTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  @DisplayName("파티션 인덱스, 파일 suffix 순서로 병합")
+  void mergeInPartitionOrder() throws IOException {
+    // given
+    write("backup_part_P10_c.csv_1.csv", "5\n");
+    write("backup_part_P2_b.csv_1.csv", "3\n");
+    write("backup_part_P0_a.csv_2.csv", "2\n");
+    write("backup_part_P0_a.csv_1.csv", "1\n");
+    write("backup_part_P2_b.csv_10.csv", "4\n");
+    write("other.csv", "ignored\n");
+
+    // when
+    List<Path> parts = BackupFileMerger.findPartFiles(dir);
+    Path target = dir.resolve("merged.csv");
+    long size = BackupFileMerger.merge(parts, target, "header\n");
+
+    // then
+    assertThat(parts).hasSize(5);
+    assertThat(Files.readString(target)).isEqualTo("header\n1\n2\n3\n4\n5\n");
+    assertThat(size).isEqualTo(Files.size(target));
+  }
+
+  @Test
+  @DisplayName("기존 병합 파일은 덮어쓴다")
+  void mergeReplacesExistingTarget() throws IOException {
+    // given
+    write("backup_part_P0_a.csv_1.csv", "1\n");
+    Path target = write("merged.csv", "stale content that is longer\n");
+
+    // when
+    BackupFileMerger.merge(BackupFileMerger.findPartFiles(dir), target, "h\n");
+
+    // then
+    assertThat(Files.readString(target)).isEqualTo("h\n1\n");
+  }
+
+  private Path write(String name, String content) throws IOException {
+    return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,64 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import team7.hrbank.common.batch.support.BackupMetricsListener;
+import team7.hrbank.common.batch.support.BackupProgressTracker;
+import team7.hrbank.domain.backup.dto.BackupProgressDto;
+
+public class BackupProgressTrackerTest {
+
+  @Test
+  @DisplayName("실행 중인 파티션의 행 수, 바이트, 남은 시간을 메모리에서 집계")
+  void progressOfRunningPartitions() {
+    // given
+    BackupProgressTracker tracker = new BackupProgressTracker((backupId, partitionId) -> 500L);
+    JobExecution execution = new JobExecution(new JobInstance(1L, "employeeBackupJob"), 1L,
+        new JobParametersBuilder().addLong("backupId", 7L).toJobParameters());
+    execution.setStatus(BatchStatus.STARTED);
+    execution.setStartTime(LocalDateTime.now().minusSeconds(10));
+    tracker.beforeJob(execution);
+
+    StepExecution done = partition(execution, 0, BatchStatus.COMPLETED, 100, 100);
+    done.getExecutionContext().putLong(BackupMetricsListener.BYTES_WRITTEN, 1000L);
+    partition(execution, 1, BatchStatus.STARTED, 100, 50);
+    partition(execution, 2, BatchStatus.STARTING, 100, 0);
+
+    // when
+    BackupProgressDto progress = tracker.progress(7L).orElseThrow();
+
+    // then
+    assertThat(progress.partitionsTotal()).isEqualTo(3);
+    assertThat(progress.partitionsCompleted()).isEqualTo(1);
+    assertThat(progress.rowsTotal()).isEqualTo(300L);
+    assertThat(progress.rowsWritten()).isEqualTo(150L);
+    assertThat(progress.bytesWritten()).isEqualTo(1500L);
+    assertThat(progress.etaMillis()).isPositive();
+    assertThat(progress.partitions()).extracting(BackupProgressDto.PartitionProgress::partitionId)
+        .containsExactly("P0", "P1", "P2");
+
+    tracker.forget(7L);
+    assertThat(tracker.progress(7L)).isEmpty();
+  }
+
+  private static StepExecution partition(JobExecution execution, int index, BatchStatus status,
+      long rowCount, long written) {
+    StepExecution step = execution.createStepExecution("backupStep:partition" + index);
+    step.getExecutionContext().putString("partitionId", "P" + index);
+    step.getExecutionContext().putLong("rowCount", rowCount);
+    step.setStatus(status);
+    step.setWriteCount(written);
+    if (status != BatchStatus.STARTING) {
+      step.setStartTime(LocalDateTime.now().minusSeconds(5));
+    }
+    return step;
+  }
+}
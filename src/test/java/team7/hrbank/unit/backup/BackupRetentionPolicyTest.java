@@ -0,0 +1,69 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import team7.hrbank.domain.backup.entity.Backup;
+import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.entity.BackupType;
+import team7.hrbank.domain.backup.service.BackupRetentionPolicy;
+
+public class BackupRetentionPolicyTest {
+
+  private static final Instant NOW = Instant.parse("2025-03-31T12:00:00Z");
+
+  private final BackupRetentionPolicy policy = new BackupRetentionPolicy(
+      Duration.ofDays(2), Duration.ofDays(30), Duration.ofDays(365), ZoneId.of("UTC"));
+
+  @Test
+  @DisplayName("구간마다 가장 최근 백업 하나만 보관")
+  void keepsNewestPerBucket() {
+    List<Backup> completed = List.of(
+        full(1L, NOW.minusSeconds(60 * 10)),           // 이번 시간 최신
+        full(2L, NOW.minusSeconds(60 * 20)),           // 같은 시간, 만료
+        full(3L, NOW.minus(Duration.ofHours(5))),      // 5시간 전 시간 구간
+        full(4L, NOW.minus(Duration.ofDays(10))),      // 10일 전 일 구간
+        full(5L, NOW.minus(Duration.ofDays(10)).minusSeconds(60)), // 같은 날, 만료
+        full(6L, Instant.parse("2024-12-20T00:00:00Z")), // 12월 구간 최신
+        full(7L, Instant.parse("2024-12-01T00:00:00Z")), // 같은 달, 만료
+        full(8L, Instant.parse("2023-01-01T00:00:00Z"))  // 1년 초과, 만료
+    );
+
+    Set<Long> kept = policy.retained(completed, List.of(), NOW);
+
+    assertThat(kept).containsExactlyInAnyOrder(1L, 3L, 4L, 6L);
+  }
+
+  @Test
+  @DisplayName("보관하는 증분 백업과 진행 중 백업의 부모 체인은 만료되지 않음")
+  void keepsParentChains() {
+    Instant old = Instant.parse("2023-01-01T00:00:00Z");
+    List<Backup> completed = List.of(
+        full(1L, old),
+        incremental(2L, old.plusSeconds(60), 1L),
+        incremental(3L, NOW.minusSeconds(60), 2L),
+        full(4L, old.minusSeconds(60)),
+        full(5L, old.minusSeconds(120))
+    );
+
+    Set<Long> kept = policy.retained(completed, List.of(4L), NOW);
+
+    assertThat(kept).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+  }
+
+  private static Backup full(Long id, Instant startedAt) {
+    return new Backup(id, null, "system", startedAt, startedAt, BackupStatus.COMPLETED,
+        BackupType.FULL, null, null);
+  }
+
+  private static Backup incremental(Long id, Instant startedAt, Long parentId) {
+    return new Backup(id, null, "system", startedAt, startedAt, BackupStatus.COMPLETED,
+        BackupType.INCREMENTAL, parentId, null);
+  }
+}
@@ -0,0 +1,53 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import team7.hrbank.common.batch.support.BackupReaderMode;
+import team7.hrbank.common.batch.support.BatchConnectionBudget;
+
+public class BatchConnectionBudgetTest {
+
+  @Test
+  @DisplayName("PAGING 리더는 청크 트랜잭션 커넥션 하나로 읽음")
+  void pagingHoldsOneConnection() {
+    assertThat(BatchConnectionBudget.connectionsPerPartition(BackupReaderMode.PAGING, false))
+        .isEqualTo(1);
+    assertThat(BatchConnectionBudget.partitions(6, 1, BackupReaderMode.PAGING, false))
+        .isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("스냅샷 모드의 PAGING 리더는 스냅샷 커넥션을 따로 점유")
+  void snapshotPagingHoldsTwoConnections() {
+    assertThat(BatchConnectionBudget.connectionsPerPartition(BackupReaderMode.PAGING, true))
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("스냅샷 모드는 coordinator 와 snapshotTablesStep 트랜잭션 커넥션을 예산에서 제외")
+  void snapshotReservesCoordinatorAndTablesStep() {
+    // 8 - 예약 1 - coordinator 1 - snapshotTablesStep 1
+    assertThat(BatchConnectionBudget.connections(8, 1, true)).isEqualTo(5);
+    assertThat(BatchConnectionBudget.partitions(8, 1, BackupReaderMode.PAGING, true))
+        .isEqualTo(2);
+    assertThat(BatchConnectionBudget.connections(8, 1, false)).isEqualTo(7);
+  }
+
+  @Test
+  @DisplayName("CURSOR 리더는 스냅샷 여부와 관계없이 파티션당 커넥션 2개")
+  void cursorHoldsTwoConnections() {
+    assertThat(BatchConnectionBudget.connectionsPerPartition(BackupReaderMode.CURSOR, false))
+        .isEqualTo(2);
+    assertThat(BatchConnectionBudget.connectionsPerPartition(BackupReaderMode.CURSOR, true))
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("풀이 작아도 파티션 하나는 실행")
+  void atLeastOnePartition() {
+    assertThat(BatchConnectionBudget.partitions(2, 1, BackupReaderMode.CURSOR, true))
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,164 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import team7.hrbank.common.batch.support.BackupCompression;
+import team7.hrbank.common.batch.support.BackupFormat;
+import team7.hrbank.common.batch.support.BinaryBackupReader;
+import team7.hrbank.common.batch.support.BinaryChunkEncoder;
+import team7.hrbank.common.batch.support.BinaryRangeItemReader;
+import team7.hrbank.common.batch.support.CsvChunkEncoder;
+import team7.hrbank.common.batch.support.RestoreFilePartitioner;
+import team7.hrbank.common.batch.support.RestoreRow;
+import team7.hrbank.common.dto.EmployeeDepartmentDto;
+import team7.hrbank.domain.employee.entity.EmployeeStatus;
+
+public class BinaryChunkEncoderTest {
+
+  private static final Logger log = LoggerFactory.getLogger(BinaryChunkEncoderTest.class);
+
+  private static final int ROWS = 100_000;
+  private static final int CHUNK_SIZE = 1000;
+  private static final String[] DEPARTMENTS = {"개발팀", "인사팀", "영업팀", "재무팀", "마케팅팀"};
+  private static final String[] POSITIONS = {"사원", "대리", "과장", "차장", "부장", "backend engineer"};
+
+  @TempDir
+  Path dir;
+
+  @Test
+  @DisplayName("바이너리로 쓴 사원은 그대로 다시 읽힌다")
+  void roundTrip() throws IOException {
+    // given
+    List<EmployeeDepartmentDto> employees = List.of(
+        employee(1, "EMP-2024-001", 0),
+        employee(2, "EMP-2024-1234", 1),
+        employee(5, "EMP-2024-01", 2),     // 자릿수가 달라 문자열로 저장
+        employee(9, "CUSTOM-7", 3),
+        new EmployeeDepartmentDto(10L, "EMP-2023-002", "null", "n@hrbank.com", null, null, null,
+            null)
+    );
+
+    // when
+    List<EmployeeDepartmentDto> read = readAll(write(List.of(employees)));
+
+    // then
+    assertThat(read).usingRecursiveFieldByFieldElementComparator().isEqualTo(employees);
+  }
+
+  @Test
+  @DisplayName("생성한 10만 건 기준 바이너리가 CSV 의 60% 보다 작다")
+  void smallerThanCsv() throws IOException {
+    // given
+    List<List<EmployeeDepartmentDto>> chunks = generate();
+    CsvChunkEncoder csv = new CsvChunkEncoder();
+    BinaryChunkEncoder binary = new BinaryChunkEncoder();
+
+    // when
+    long csvStart = System.nanoTime();
+    long csvBytes = 0;
+    for (List<EmployeeDepartmentDto> chunk : chunks) {
+      csvBytes += csv.encode(new Chunk<>(chunk)).length;
+    }
+    long csvMillis = (System.nanoTime() - csvStart) / 1_000_000;
+
+    long binaryStart = System.nanoTime();
+    byte[] artifact = write(chunks);
+    long binaryMillis = (System.nanoTime() - binaryStart) / 1_000_000;
+
+    long readStart = System.nanoTime();
+    List<EmployeeDepartmentDto> read = readAll(artifact);
+    long readMillis = (System.nanoTime() - readStart) / 1_000_000;
+
+    // then
+    log.info("CSV    : {} bytes, encoded in {} ms", csvBytes, csvMillis);
+    log.info("BINARY : {} bytes, encoded in {} ms, decoded in {} ms", artifact.length,
+        binaryMillis, readMillis);
+    assertThat(read).hasSize(ROWS);
+    assertThat(artifact.length).isLessThan(csvBytes * 6 / 10);
+  }
+
+  @Test
+  @DisplayName("바이너리 파일은 블록 경계로 나눠 모든 행을 한 번씩 읽는다")
+  void partitionsAlignToBlocks() throws Exception {
+    // given
+    Path file = dir.resolve("1.hrb");
+    Files.write(file, write(generate()));
+
+    // when
+    Map<String, ExecutionContext> partitions = new RestoreFilePartitioner(file,
+        BackupFormat.BINARY, BackupCompression.NONE, 1024).partition(6);
+    List<String> numbers = new ArrayList<>();
+    for (ExecutionContext context : partitions.values()) {
+      BinaryRangeItemReader reader = new BinaryRangeItemReader(file, context.getLong("start"),
+          context.getLong("end"));
+      reader.open(new ExecutionContext());
+      RestoreRow row;
+      while ((row = reader.read()) != null) {
+        numbers.add(row.employee().getEmployeeNumber());
+      }
+      reader.close();
+    }
+
+    // then
+    assertThat(partitions).hasSize(6);
+    assertThat(numbers).hasSize(ROWS).doesNotHaveDuplicates();
+  }
+
+  private static List<List<EmployeeDepartmentDto>> generate() {
+    List<List<EmployeeDepartmentDto>> chunks = new ArrayList<>();
+    for (int start = 0; start < ROWS; start += CHUNK_SIZE) {
+      List<EmployeeDepartmentDto> chunk = new ArrayList<>(CHUNK_SIZE);
+      for (int i = start; i < start + CHUNK_SIZE; i++) {
+        chunk.add(employee(i + 1, String.format("EMP-%d-%03d", 2000 + i % 25, i), i));
+      }
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+
+  private static EmployeeDepartmentDto employee(long id, String employeeNumber, int seed) {
+    return new EmployeeDepartmentDto(id, employeeNumber, "사원" + seed,
+        "employee" + seed + "@hrbank.com", POSITIONS[seed % POSITIONS.length],
+        LocalDate.of(2000, 1, 1).plusDays(seed % 9000),
+        EmployeeStatus.values()[seed % EmployeeStatus.values().length],
+        DEPARTMENTS[seed % DEPARTMENTS.length]);
+  }
+
+  private static byte[] write(List<List<EmployeeDepartmentDto>> chunks) throws IOException {
+    BinaryChunkEncoder encoder = new BinaryChunkEncoder();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(BinaryChunkEncoder.header());
+    for (List<EmployeeDepartmentDto> chunk : chunks) {
+      out.write(encoder.encode(new Chunk<>(chunk)));
+    }
+    return out.toByteArray();
+  }
+
+  private static List<EmployeeDepartmentDto> readAll(byte[] artifact) throws IOException {
+    List<EmployeeDepartmentDto> employees = new ArrayList<>();
+    try (BinaryBackupReader reader = new BinaryBackupReader(new ByteArrayInputStream(artifact),
+        true)) {
+      EmployeeDepartmentDto employee;
+      while ((employee = reader.read()) != null) {
+        employees.add(employee);
+      }
+    }
+    return employees;
+  }
+}
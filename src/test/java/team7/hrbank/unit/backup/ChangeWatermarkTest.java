@@ -0,0 +1,211 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import team7.hrbank.domain.backup.entity.Backup;
+import team7.hrbank.domain.backup.entity.BackupStatus;
+import team7.hrbank.domain.backup.repository.BackupRepository;
+import team7.hrbank.domain.backup.service.ChangeWatermark;
+import team7.hrbank.domain.change_log.entity.ChangeLogType;
+import team7.hrbank.domain.change_log.event.ChangeLogSavedEvent;
+import team7.hrbank.domain.change_log.repository.ChangeLogRepository;
+import team7.hrbank.domain.change_log.service.ChangeLogService;
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeWatermarkTest {
+
+  private static final Instant T0 = Instant.parse("2025-03-01T00:00:00Z");
+  // 마지막 완료 백업, 이후 변경 없음
+  private static final Instant COVERED = T0.plusSeconds(60);
+
+  @Mock
+  private ChangeLogService changeLogService;
+
+  @Mock
+  private ChangeLogRepository changeLogRepository;
+
+  @Mock
+  private BackupRepository backupRepository;
+
+  @InjectMocks
+  private ChangeWatermark watermark;
+
+  @BeforeEach
+  void seed() {
+    ReflectionTestUtils.setField(watermark, "changeThreshold", 3L);
+    ReflectionTestUtils.setField(watermark, "maxAge", Duration.ofHours(1));
+    ReflectionTestUtils.setField(watermark, "minInterval", Duration.ofMinutes(10));
+    // 마지막 변경 T0, 마지막 완료 백업 T0 + 1분
+    when(changeLogService.getLatestChannelLogUpdateTime()).thenReturn(T0);
+    when(backupRepository.findFirstByStatusInOrderByStartedAtDesc(anyCollection()))
+        .thenReturn(Optional.of(new Backup(COVERED, BackupStatus.COMPLETED)));
+    when(changeLogRepository.countByCreatedAtGreaterThanEqual(any())).thenReturn(0L);
+    when(changeLogRepository.findFirstByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(any()))
+        .thenReturn(Optional.empty());
+    watermark.seed();
+  }
+
+  @Test
+  @DisplayName("마지막 백업 이후 변경이 커밋되면 백업 필요")
+  void neededAfterChange() {
+    assertThat(watermark.isBackupNeeded()).isFalse();
+
+    watermark.onChangeLogSaved(changeAt(T0.plusSeconds(120)));
+
+    assertThat(watermark.isBackupNeeded()).isTrue();
+  }
+
+  @Test
+  @DisplayName("진행 중인 백업은 변경을 덮고, 실패하면 다시 백업 필요")
+  void failedBackupDoesNotCover() {
+    watermark.onChangeLogSaved(changeAt(T0.plusSeconds(120)));
+    Instant started = T0.plusSeconds(180);
+
+    watermark.backupStarted(started);
+    assertThat(watermark.isBackupNeeded()).isFalse();
+
+    watermark.backupFinished(started, false);
+    assertThat(watermark.isBackupNeeded()).isTrue();
+
+    watermark.backupStarted(started.plusSeconds(60));
+    watermark.backupFinished(started.plusSeconds(60), true);
+    assertThat(watermark.isBackupNeeded()).isFalse();
+  }
+
+  @Test
+  @DisplayName("늦게 도착한 과거 변경은 워터마크를 되돌리지 않음")
+  void watermarkOnlyMovesForward() {
+    watermark.onChangeLogSaved(changeAt(T0.plusSeconds(120)));
+    watermark.onChangeLogSaved(changeAt(T0.minusSeconds(600)));
+    watermark.backupFinished(T0.plusSeconds(180), true);
+    watermark.backupFinished(T0.plusSeconds(30), true);
+
+    assertThat(watermark.isBackupNeeded()).isFalse();
+    watermark.onChangeLogSaved(changeAt(T0.plusSeconds(150)));
+    assertThat(watermark.isBackupNeeded()).isFalse();
+  }
+
+  @Test
+  @DisplayName("백업 실행 중 건너뛴 요청은 실행 중인 백업의 변경을 덮지 않음")
+  void skipDuringBackupCoversNothing() {
+    Instant started = COVERED.plus(Duration.ofMinutes(20));
+    changes(3, started.minusSeconds(60));
+    watermark.backupStarted(started);
+
+    watermark.backupFinished(started.plusSeconds(30), true);
+    watermark.backupFinished(started, false);
+
+    assertThat(watermark.isBackupNeeded()).isTrue();
+    assertThat(watermark.getPendingChanges()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("변경 수가 임계값에 도달하면 백업 시작")
+  void dueAtThreshold() {
+    Instant now = COVERED.plus(Duration.ofMinutes(20));
+    changes(2, now.minusSeconds(60));
+    assertThat(watermark.isDue(now)).isFalse();
+
+    changes(1, now.minusSeconds(30));
+    assertThat(watermark.isDue(now)).isTrue();
+  }
+
+  @Test
+  @DisplayName("가장 오래된 변경이 max-age 를 넘으면 변경 수와 관계없이 백업 시작")
+  void dueAfterMaxAge() {
+    changes(1, COVERED.plus(Duration.ofMinutes(15)));
+
+    assertThat(watermark.isDue(COVERED.plus(Duration.ofMinutes(30)))).isFalse();
+    assertThat(watermark.isDue(COVERED.plus(Duration.ofMinutes(75)))).isTrue();
+  }
+
+  @Test
+  @DisplayName("이전 백업 시작 후 min-interval 이 지나기 전에는 시작하지 않음")
+  void respectsMinInterval() {
+    changes(3, COVERED.plusSeconds(60));
+
+    assertThat(watermark.isDue(COVERED.plus(Duration.ofMinutes(5)))).isFalse();
+    assertThat(watermark.isDue(COVERED.plus(Duration.ofMinutes(10)))).isTrue();
+  }
+
+  @Test
+  @DisplayName("백업이 실패하면 변경이 남아 min-interval 후 다시 시작")
+  void failedBackupKeepsPendingChanges() {
+    Instant started = COVERED.plus(Duration.ofMinutes(20));
+    changes(3, started.minusSeconds(60));
+
+    watermark.backupStarted(started);
+    assertThat(watermark.isDue(started.plus(Duration.ofMinutes(30)))).isFalse();
+
+    watermark.backupFinished(started, false);
+    assertThat(watermark.getPendingChanges()).isEqualTo(3);
+    assertThat(watermark.isDue(started.plus(Duration.ofMinutes(5)))).isFalse();
+    assertThat(watermark.isDue(started.plus(Duration.ofMinutes(10)))).isTrue();
+  }
+
+  @Test
+  @DisplayName("백업이 완료되면 시작 전 변경만 지우고 실행 중 변경은 남김")
+  void completedBackupClearsChangesBeforeStart() {
+    Instant started = COVERED.plus(Duration.ofMinutes(20));
+    changes(3, started.minusSeconds(60));
+
+    watermark.backupStarted(started);
+    changes(1, started.plusSeconds(30));
+    watermark.backupFinished(started, true);
+
+    assertThat(watermark.getPendingChanges()).isEqualTo(1);
+    assertThat(watermark.isBackupNeeded()).isTrue();
+    assertThat(watermark.isDue(started.plus(Duration.ofMinutes(30)))).isFalse();
+    assertThat(watermark.isDue(started.plus(Duration.ofMinutes(61)))).isTrue();
+  }
+
+  @Test
+  @DisplayName("건너뛴 백업은 대기 중인 변경을 지우고 min-interval 동안 다시 시작하지 않음")
+  void skippedBackupClearsPendingChanges() {
+    Instant skipped = COVERED.plus(Duration.ofMinutes(20));
+    changes(3, COVERED.minusSeconds(30));
+
+    watermark.backupFinished(skipped, true);
+
+    assertThat(watermark.getPendingChanges()).isZero();
+    assertThat(watermark.isDue(skipped.plus(Duration.ofHours(2)))).isFalse();
+  }
+
+  @Test
+  @DisplayName("복원이 한 번에 남긴 변경도 백업 필요와 변경 수에 반영")
+  void restoredChangesArePending() {
+    Instant restored = COVERED.plus(Duration.ofMinutes(20));
+
+    watermark.onChangesCommitted(0, restored);
+    assertThat(watermark.isBackupNeeded()).isFalse();
+
+    watermark.onChangesCommitted(5, restored);
+    assertThat(watermark.isBackupNeeded()).isTrue();
+    assertThat(watermark.getPendingChanges()).isEqualTo(5);
+    assertThat(watermark.isDue(restored.plusSeconds(1))).isTrue();
+  }
+
+  private void changes(int count, Instant createdAt) {
+    for (int i = 0; i < count; i++) {
+      watermark.onChangeLogSaved(changeAt(createdAt));
+    }
+  }
+
+  private static ChangeLogSavedEvent changeAt(Instant createdAt) {
+    return new ChangeLogSavedEvent("EMP-2025-001", ChangeLogType.UPDATED, createdAt);
+  }
+}
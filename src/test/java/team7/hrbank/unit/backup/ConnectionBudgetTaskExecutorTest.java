@@ -0,0 +1,102 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import team7.hrbank.common.batch.support.ConnectionBudgetTaskExecutor;
+
+public class ConnectionBudgetTaskExecutorTest {
+
+  @Test
+  @DisplayName("커넥션 예산보다 많은 파티션이 들어와도 동시에 예산만큼만 실행")
+  void capsConcurrencyToBudget() throws InterruptedException {
+    // given
+    ConnectionBudgetTaskExecutor executor =
+        new ConnectionBudgetTaskExecutor(new SimpleAsyncTaskExecutor(), 2,
+            new SimpleMeterRegistry());
+    int tasks = 8;
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(tasks);
+
+    // when
+    for (int i = 0; i < tasks; i++) {
+      executor.execute(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(20);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          running.decrementAndGet();
+          done.countDown();
+        }
+      });
+    }
+
+    // then
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(maxRunning.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("커넥션 2개를 점유하는 파티션은 예산 4에서 동시에 2개만 실행")
+  void chargesCostPerTask() throws InterruptedException {
+    // given
+    ConnectionBudgetTaskExecutor executor =
+        new ConnectionBudgetTaskExecutor(new SimpleAsyncTaskExecutor(), 4,
+            new SimpleMeterRegistry());
+    TaskExecutor backupPartitions = executor.withCost(2);
+    int tasks = 6;
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(tasks);
+
+    // when
+    for (int i = 0; i < tasks; i++) {
+      backupPartitions.execute(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(20);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          running.decrementAndGet();
+          done.countDown();
+        }
+      });
+    }
+
+    // then
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(maxRunning.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("예산보다 비싼 작업도 혼자서는 실행")
+  void costIsCappedToBudget() throws InterruptedException {
+    ConnectionBudgetTaskExecutor executor =
+        new ConnectionBudgetTaskExecutor(new SimpleAsyncTaskExecutor(), 1,
+            new SimpleMeterRegistry());
+    CountDownLatch done = new CountDownLatch(1);
+
+    executor.withCost(2).execute(done::countDown);
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("예산이 0 이하로 계산돼도 최소 하나는 실행")
+  void budgetIsAtLeastOne() {
+    assertThat(new ConnectionBudgetTaskExecutor(new SimpleAsyncTaskExecutor(), 0,
+        new SimpleMeterRegistry()).getBudget())
+        .isEqualTo(1);
+  }
+}
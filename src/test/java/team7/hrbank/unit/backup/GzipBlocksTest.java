@@ -0,0 +1,69 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team7.hrbank.common.batch.support.BackupFileMerger;
+import team7.hrbank.common.batch.support.GzipBlocks;
+
+public class GzipBlocksTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  @DisplayName("따로 압축한 블록을 이어 붙이면 하나의 gzip 으로 풀린다")
+  void concatenatedBlocksDecompressInOrder() throws IOException {
+    // given
+    ByteArrayOutputStream artifact = new ByteArrayOutputStream();
+    artifact.write(GzipBlocks.compress(bytes("h\n")));
+    artifact.write(GzipBlocks.compress(bytes("1\n2\n")));
+    artifact.write(GzipBlocks.compress(bytes("3\n")));
+
+    // when
+    String decompressed = decompress(new ByteArrayInputStream(artifact.toByteArray()));
+
+    // then
+    assertThat(decompressed).isEqualTo("h\n1\n2\n3\n");
+  }
+
+  @Test
+  @DisplayName("압축한 파트 파일을 병합해도 원본 순서대로 풀린다")
+  void mergeCompressedParts() throws IOException {
+    // given
+    Path first = Files.writeString(dir.resolve("first.csv"), "1\n");
+    Path second = Files.writeString(dir.resolve("second.csv"), "2\n");
+    Path firstGz = dir.resolve("first.csv.gz");
+    Path secondGz = dir.resolve("second.csv.gz");
+    GzipBlocks.compressFile(first, firstGz);
+    GzipBlocks.compressFile(second, secondGz);
+
+    // when
+    Path target = dir.resolve("merged.csv.gz");
+    BackupFileMerger.merge(List.of(firstGz, secondGz), target, GzipBlocks.compress(bytes("h\n")));
+
+    // then
+    assertThat(decompress(Files.newInputStream(target))).isEqualTo("h\n1\n2\n");
+  }
+
+  private static String decompress(InputStream in) throws IOException {
+    try (GZIPInputStream gzip = new GZIPInputStream(in)) {
+      return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
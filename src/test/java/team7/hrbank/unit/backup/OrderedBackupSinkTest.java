@@ -0,0 +1,189 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import team7.hrbank.common.batch.support.BackupManifest;
+import team7.hrbank.common.batch.support.BlockChecksums;
+import team7.hrbank.common.batch.support.OrderedBackupSink;
+import team7.hrbank.common.batch.support.OrderedSinkItemWriter;
+
+public class OrderedBackupSinkTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  @DisplayName("늦게 들어온 앞 파티션이 있어도 파티션 순서대로 기록")
+  void writeInPartitionOrder() throws IOException {
+    // given
+    Path target = dir.resolve("backup.csv");
+    OrderedBackupSink sink = new OrderedBackupSink(target, bytes("h\n"), 1024);
+
+    // when
+    sink.write(2, bytes("5\n"));
+    sink.write(1, bytes("3\n"));
+    sink.write(0, bytes("1\n"));
+    sink.write(1, bytes("4\n"));
+    sink.complete(1);
+    sink.write(0, bytes("2\n"));
+    sink.complete(0);
+    sink.complete(2);
+    long size = sink.close();
+
+    // then
+    assertThat(Files.readString(target)).isEqualTo("h\n1\n2\n3\n4\n5\n");
+    assertThat(size).isEqualTo(Files.size(target));
+  }
+
+  @Test
+  @DisplayName("버퍼 한도를 넘으면 디스크로 내렸다가 순서대로 이어 붙인다")
+  void spillWhenBufferExceeded() throws IOException {
+    // given
+    Path target = dir.resolve("backup.csv");
+    OrderedBackupSink sink = new OrderedBackupSink(target, bytes("h\n"), 4);
+
+    // when
+    sink.write(1, bytes("3\n"));
+    sink.write(2, bytes("5\n"));
+    sink.write(2, bytes("6\n"));
+    sink.write(1, bytes("4\n"));
+    sink.write(0, bytes("1\n"));
+    sink.write(0, bytes("2\n"));
+    sink.complete(0);
+    sink.complete(1);
+    sink.complete(2);
+    sink.close();
+
+    // then
+    assertThat(Files.readString(target)).isEqualTo("h\n1\n2\n3\n4\n5\n6\n");
+    try (var files = Files.list(dir)) {
+      assertThat(files).containsExactly(target);
+    }
+  }
+
+  @Test
+  @DisplayName("매니페스트의 파티션 범위와 블록 체크섬이 기록된 파일과 일치")
+  void manifestMatchesArtifact() throws IOException {
+    // given
+    Path target = dir.resolve("backup.csv");
+    OrderedBackupSink sink = new OrderedBackupSink(target, bytes("h\n"), 1024);
+    sink.write(1, bytes("3\n"));
+    sink.write(0, bytes("1\n"));
+    sink.write(0, bytes("22\n"));
+    sink.complete(0);
+    sink.complete(1);
+    sink.close();
+
+    // when
+    BackupManifest manifest = sink.manifest(Map.of("P0", 2L, "P1", 1L));
+
+    // then
+    byte[] artifact = Files.readAllBytes(target);
+    assertThat(manifest.rows()).isEqualTo(3);
+    assertThat(manifest.bytes()).isEqualTo(artifact.length);
+    assertThat(manifest.partitions()).containsExactly(
+        new BackupManifest.PartitionRange("P0", 2, 5, 2),
+        new BackupManifest.PartitionRange("P1", 7, 2, 1));
+    assertThat(manifest.blocks()).hasSize(4);
+    for (BackupManifest.Block block : manifest.blocks()) {
+      byte[] content = Arrays.copyOfRange(artifact, (int) block.offset(),
+          (int) (block.offset() + block.length()));
+      assertThat(BlockChecksums.crc32c(content)).isEqualTo(block.crc32c());
+    }
+
+    // 한 바이트만 바뀌어도 해당 블록만 불일치
+    artifact[4] = 'x';
+    BackupManifest.Block corrupted = manifest.blocks().get(2);
+    assertThat(BlockChecksums.crc32c(new ByteArrayInputStream(artifact,
+        (int) corrupted.offset(), (int) corrupted.length()), corrupted.length()))
+        .isNotEqualTo(corrupted.crc32c());
+    assertThat(BlockChecksums.crc32c(new ByteArrayInputStream(artifact,
+        (int) manifest.blocks().get(1).offset(), 2), 2))
+        .isEqualTo(manifest.blocks().get(1).crc32c());
+  }
+
+  @Test
+  @DisplayName("중단하면 기록 중이던 파일과 spill 파일을 모두 삭제")
+  void abortDeletesPartialArtifact() throws IOException {
+    // given
+    Path target = dir.resolve("backup.csv");
+    OrderedBackupSink sink = new OrderedBackupSink(target, bytes("h\n"), 2);
+    sink.write(0, bytes("1\n"));
+    sink.write(1, bytes("2\n"));
+    sink.write(1, bytes("3\n"));
+
+    // when
+    sink.abort();
+
+    // then
+    try (var files = Files.list(dir)) {
+      assertThat(files).isEmpty();
+    }
+  }
+
+  @Test
+  @DisplayName("실패한 파티션은 완료 처리하지 않고 전체 스트림을 중단")
+  void failedPartitionAbortsSink() throws IOException {
+    // given
+    Path target = dir.resolve("backup.csv");
+    OrderedBackupSink sink = new OrderedBackupSink(target, bytes("h\n"), 1024);
+    sink.write(1, bytes("2\n"));
+
+    // when
+    closeWriter(sink, 0, BatchStatus.FAILED);
+
+    // then
+    assertThat(target).doesNotExist();
+    assertThatThrownBy(() -> sink.write(1, bytes("3\n")))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("완료된 파티션만 완료 처리되어 다음 파티션이 이어서 기록")
+  void completedPartitionCompletes() throws IOException {
+    // given
+    Path target = dir.resolve("backup.csv");
+    OrderedBackupSink sink = new OrderedBackupSink(target, bytes("h\n"), 1024);
+    sink.write(0, bytes("1\n"));
+    sink.write(1, bytes("2\n"));
+
+    // when
+    closeWriter(sink, 0, BatchStatus.COMPLETED);
+    closeWriter(sink, 1, BatchStatus.COMPLETED);
+    sink.close();
+
+    // then
+    assertThat(Files.readString(target)).isEqualTo("h\n1\n2\n");
+  }
+
+  private static void closeWriter(OrderedBackupSink sink, int partition, BatchStatus status) {
+    StepExecution stepExecution = new StepExecution("backupStep:partition" + partition,
+        new JobExecution(1L));
+    stepExecution.setStatus(status);
+    StepSynchronizationManager.register(stepExecution);
+    try {
+      new OrderedSinkItemWriter(sink, partition, chunk -> new byte[0]).close();
+    } finally {
+      StepSynchronizationManager.close();
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,107 @@
+package team7.hrbank.unit.backup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import team7.hrbank.common.batch.support.BackupCompression;
+import team7.hrbank.common.batch.support.BackupFormat;
+import team7.hrbank.common.batch.support.CsvRangeItemReader;
+import team7.hrbank.common.batch.support.RestoreFilePartitioner;
+import team7.hrbank.common.batch.support.RestoreRow;
+
+public class RestoreFilePartitionerTest {
+
+  private static final String HEADER = "id,employeeNumber,name,email,department,position,hireDate,status";
+
+  @TempDir
+  Path dir;
+
+  @Test
+  @DisplayName("바이트 구간으로 나눠 읽어도 모든 행을 한 번씩 읽는다")
+  void rangesCoverEveryRowOnce() throws Exception {
+    // given
+    Path file = dir.resolve("1.csv");
+    StringBuilder csv = new StringBuilder(HEADER).append('\n');
+    for (int i = 0; i < 1000; i++) {
+      csv.append(i).append(",EMP-").append(i).append(",이름").append(i).append(",e").append(i)
+          .append("@hrbank.com,개발팀,engineer,2024-01-01,ACTIVE\n");
+    }
+    Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+    // when
+    Map<String, ExecutionContext> partitions =
+        new RestoreFilePartitioner(file, BackupFormat.CSV, BackupCompression.NONE, 1024).partition(7);
+    List<String> numbers = new ArrayList<>();
+    for (ExecutionContext context : partitions.values()) {
+      numbers.addAll(read(file, BackupCompression.NONE, context));
+    }
+
+    // then
+    assertThat(partitions).hasSize(7);
+    assertThat(numbers).hasSize(1000).doesNotHaveDuplicates().contains("EMP-0", "EMP-999");
+  }
+
+  @Test
+  @DisplayName("gzip 파일은 하나의 파티션으로 헤더를 건너뛰고 읽는다")
+  void gzipIsSinglePartition() throws Exception {
+    // given
+    Path file = dir.resolve("2.csv.gz");
+    try (GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+      out.write((HEADER + "\n1,EMP-1,a,a@hrbank.com,개발팀,engineer,2024-01-01,ACTIVE\n")
+          .getBytes(StandardCharsets.UTF_8));
+    }
+
+    // when
+    Map<String, ExecutionContext> partitions =
+        new RestoreFilePartitioner(file, BackupFormat.CSV, BackupCompression.GZIP, 1).partition(4);
+
+    // then
+    assertThat(partitions).hasSize(1);
+    assertThat(read(file, BackupCompression.GZIP, partitions.values().iterator().next()))
+        .containsExactly("EMP-1");
+  }
+
+  @Test
+  @DisplayName("증분 백업의 DELETE 행은 사원 번호만 가진 삭제 행이 된다")
+  void parsesDeltaTombstone() {
+    // when
+    RestoreRow upsert = CsvRangeItemReader.parse(
+        "UPSERT,1,EMP-1,a,a@hrbank.com,개발팀,engineer,2024-01-01,ON_LEAVE", true);
+    RestoreRow delete = CsvRangeItemReader.parse("DELETE,,EMP-2,,,,,,", true);
+
+    // then
+    assertThat(upsert.delete()).isFalse();
+    assertThat(upsert.employee().getDepartmentName()).isEqualTo("개발팀");
+    assertThat(upsert.employee().getPosition()).isEqualTo("engineer");
+    assertThat(delete.delete()).isTrue();
+    assertThat(delete.employee().getEmployeeNumber()).isEqualTo("EMP-2");
+  }
+
+  private static List<String> read(Path file, BackupCompression compression,
+      ExecutionContext context) throws IOException {
+    CsvRangeItemReader reader = new CsvRangeItemReader(file, compression,
+        context.getLong("start"), context.getLong("end"));
+    List<String> numbers = new ArrayList<>();
+    reader.open(new ExecutionContext());
+    try {
+      RestoreRow row;
+      while ((row = reader.read()) != null) {
+        numbers.add(row.employee().getEmployeeNumber());
+      }
+    } finally {
+      reader.close();
+    }
+    return numbers;
+  }
+}
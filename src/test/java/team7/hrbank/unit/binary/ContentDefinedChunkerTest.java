@@ -0,0 +1,84 @@
+package team7.hrbank.unit.binary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import team7.hrbank.domain.binary.ContentDefinedChunker;
+
+public class ContentDefinedChunkerTest {
+
+  private static final int ROWS = 20_000;
+
+  @Test
+  @DisplayName("청크를 이어 붙이면 원본이 되고, 마지막 청크 외에는 크기 범위를 지킨다")
+  void chunksReassembleToInput() throws IOException {
+    // given
+    byte[] csv = csv(-1);
+
+    // when
+    List<byte[]> chunks = split(csv);
+
+    // then
+    ByteArrayOutputStream joined = new ByteArrayOutputStream();
+    for (byte[] chunk : chunks) {
+      joined.write(chunk);
+    }
+    assertThat(joined.toByteArray()).isEqualTo(csv);
+    assertThat(chunks.subList(0, chunks.size() - 1)).allSatisfy(chunk ->
+        assertThat(chunk.length).isBetween(ContentDefinedChunker.MIN_SIZE,
+            ContentDefinedChunker.MAX_SIZE));
+  }
+
+  @Test
+  @DisplayName("앞쪽에 한 행이 추가되어도 나머지 청크는 그대로 재사용된다")
+  void insertedRowKeepsLaterChunks() throws IOException {
+    // given
+    List<byte[]> before = split(csv(-1));
+    List<byte[]> after = split(csv(100));
+
+    // when
+    Set<String> known = new HashSet<>();
+    before.forEach(chunk -> known.add(new String(chunk, StandardCharsets.ISO_8859_1)));
+    long reused = after.stream()
+        .filter(chunk -> known.contains(new String(chunk, StandardCharsets.ISO_8859_1)))
+        .count();
+
+    // then
+    assertThat(reused).isGreaterThanOrEqualTo(after.size() - 3);
+  }
+
+  /**
+   * @param insertAt row index to insert an extra row before, -1 for none
+   */
+  private static byte[] csv(int insertAt) {
+    StringBuilder builder = new StringBuilder("id,employeeNumber,name,email,department,position,hireDate,status\n");
+    for (int i = 0; i < ROWS; i++) {
+      if (i == insertAt) {
+        builder.append("99999,EMP-2025-999,신규,new@hrbank.com,개발팀,사원,2025-03-01,ACTIVE\n");
+      }
+      builder.append(i).append(",EMP-").append(2000 + i % 25).append('-').append(i)
+          .append(",사원").append(i).append(",employee").append(i).append("@hrbank.com,")
+          .append(i % 2 == 0 ? "개발팀" : "인사팀").append(",사원,2020-01-01,ACTIVE\n");
+    }
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static List<byte[]> split(byte[] data) throws IOException {
+    ContentDefinedChunker chunker = new ContentDefinedChunker(new ByteArrayInputStream(data));
+    List<byte[]> chunks = new ArrayList<>();
+    byte[] chunk;
+    while ((chunk = chunker.next()) != null) {
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+}
@@ -7,6 +7,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import team7.hrbank.domain.binary.BinaryContent;
@@ -59,6 +60,9 @@ public class ServiceTest {
     @Mock
     private CustomEmployeeRepositoryImpl customEmployeeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
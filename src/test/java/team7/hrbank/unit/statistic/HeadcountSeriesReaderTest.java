@@ -0,0 +1,118 @@
+package team7.hrbank.unit.statistic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import team7.hrbank.common.batch.support.HeadcountSeriesReader;
+import team7.hrbank.domain.change_log.dto.HeadcountDeltaDto;
+import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatistic;
+import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatisticType;
+
+public class HeadcountSeriesReaderTest {
+
+  @Test
+  @DisplayName("날짜별 증감의 누적합으로 하루 하나의 통계를 생성")
+  void emitsRunningHeadcountPerDay() {
+    // given : 시작일 이전 변경은 첫날에 합산
+    LocalDate from = LocalDate.of(2025, 1, 1);
+    HeadcountSeriesReader reader = new HeadcountSeriesReader(List.of(
+        new HeadcountDeltaDto(LocalDate.of(2024, 12, 1), 3L),
+        new HeadcountDeltaDto(LocalDate.of(2025, 1, 2), 2L),
+        new HeadcountDeltaDto(LocalDate.of(2025, 1, 4), -1L)
+    ), from, LocalDate.of(2025, 1, 5), EnumSet.of(EmployeeStatisticType.DAY));
+
+    // when
+    List<EmployeeStatistic> series = readAll(reader);
+
+    // then
+    assertThat(series).extracting(EmployeeStatistic::getCaptureDate)
+        .containsExactly(from, from.plusDays(1), from.plusDays(2), from.plusDays(3),
+            from.plusDays(4));
+    assertThat(series).extracting(EmployeeStatistic::getEmployeeCount)
+        .containsExactly(3, 5, 5, 4, 4);
+  }
+
+  @Test
+  @DisplayName("기록된 입사보다 퇴사가 많으면 0명으로 기록")
+  void negativeHeadcountIsZero() {
+    LocalDate day = LocalDate.of(2025, 1, 1);
+    HeadcountSeriesReader reader = new HeadcountSeriesReader(
+        List.of(new HeadcountDeltaDto(day, -2L)), day, day, EnumSet.of(EmployeeStatisticType.DAY));
+
+    assertThat(reader.read().getEmployeeCount()).isZero();
+    assertThat(reader.read()).isNull();
+  }
+
+  @Test
+  @DisplayName("주, 월, 분기, 연 통계는 같은 일별 누적합에서 구간 마지막 날 값으로 생성")
+  void rollsUpCoarserTypes() {
+    // given : 2025-03-31(월) 입사 1, 2025-04-02 입사 1, 조회 종료일 2025-04-03
+    HeadcountSeriesReader reader = new HeadcountSeriesReader(List.of(
+        new HeadcountDeltaDto(LocalDate.of(2025, 3, 31), 1L),
+        new HeadcountDeltaDto(LocalDate.of(2025, 4, 2), 1L)
+    ), LocalDate.of(2025, 3, 30), LocalDate.of(2025, 4, 3),
+        EnumSet.of(EmployeeStatisticType.WEEK, EmployeeStatisticType.MONTH,
+            EmployeeStatisticType.QUARTER, EmployeeStatisticType.YEAR));
+
+    // when
+    List<EmployeeStatistic> statistics = readAll(reader);
+
+    // then : 1분기와 3월은 3/31 값으로 마감, 나머지는 종료일 값
+    assertThat(statistics)
+        .extracting(EmployeeStatistic::getType, EmployeeStatistic::getCaptureDate,
+            EmployeeStatistic::getEmployeeCount)
+        .containsExactly(
+            tuple(EmployeeStatisticType.WEEK, LocalDate.of(2025, 3, 24), 0),
+            tuple(EmployeeStatisticType.QUARTER, LocalDate.of(2025, 1, 1), 1),
+            tuple(EmployeeStatisticType.MONTH, LocalDate.of(2025, 3, 1), 1),
+            tuple(EmployeeStatisticType.YEAR, LocalDate.of(2025, 1, 1), 2),
+            tuple(EmployeeStatisticType.QUARTER, LocalDate.of(2025, 4, 1), 2),
+            tuple(EmployeeStatisticType.MONTH, LocalDate.of(2025, 4, 1), 2),
+            tuple(EmployeeStatisticType.WEEK, LocalDate.of(2025, 3, 31), 2)
+        );
+  }
+
+  @Test
+  @DisplayName("연도 파티션은 자기 범위에서 끝나는 구간만 생성, 연말에 걸친 주는 다음 해 파티션이 생성")
+  void partitionEmitsBucketsEndingInRange() {
+    // given : 2024-12-31(화), 전체 시리즈 종료일 2025-01-03
+    EnumSet<EmployeeStatisticType> types = EnumSet.of(EmployeeStatisticType.WEEK,
+        EmployeeStatisticType.YEAR);
+    HeadcountSeriesReader year2024 = new HeadcountSeriesReader(List.of(
+        new HeadcountDeltaDto(LocalDate.of(2024, 12, 30), 1L)
+    ), LocalDate.of(2024, 12, 29), LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 3), types);
+    HeadcountSeriesReader year2025 = new HeadcountSeriesReader(List.of(
+        new HeadcountDeltaDto(LocalDate.of(2025, 1, 1), 1L), // 이전 연도 변경의 합
+        new HeadcountDeltaDto(LocalDate.of(2025, 1, 2), 2L)
+    ), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 3), LocalDate.of(2025, 1, 3), types);
+
+    // then : 2024-12-30 주는 2025 파티션에서 종료일 값으로 생성
+    assertThat(readAll(year2024))
+        .extracting(EmployeeStatistic::getType, EmployeeStatistic::getCaptureDate,
+            EmployeeStatistic::getEmployeeCount)
+        .containsExactly(
+            tuple(EmployeeStatisticType.WEEK, LocalDate.of(2024, 12, 23), 0),
+            tuple(EmployeeStatisticType.YEAR, LocalDate.of(2024, 1, 1), 1));
+    assertThat(readAll(year2025))
+        .extracting(EmployeeStatistic::getType, EmployeeStatistic::getCaptureDate,
+            EmployeeStatistic::getEmployeeCount)
+        .containsExactly(
+            tuple(EmployeeStatisticType.YEAR, LocalDate.of(2025, 1, 1), 3),
+            tuple(EmployeeStatisticType.WEEK, LocalDate.of(2024, 12, 30), 3));
+  }
+
+  private static List<EmployeeStatistic> readAll(HeadcountSeriesReader reader) {
+    List<EmployeeStatistic> statistics = new ArrayList<>();
+    for (EmployeeStatistic statistic = reader.read(); statistic != null;
+        statistic = reader.read()) {
+      statistics.add(statistic);
+    }
+    return statistics;
+  }
+}
@@ -0,0 +1,102 @@
+package team7.hrbank.unit.statistic;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import team7.hrbank.domain.employee.event.HeadcountChangedEvent;
+import team7.hrbank.domain.emplyee_statistic.entity.EmployeeStatisticType;
+import team7.hrbank.domain.emplyee_statistic.repository.EmployeeStatisticRepository;
+import team7.hrbank.domain.emplyee_statistic.service.FullTrendStatisticGenerator;
+import team7.hrbank.domain.emplyee_statistic.service.HeadcountStatisticMaintainer;
+import team7.hrbank.domain.emplyee_statistic.service.TrendUpdater;
+
+@ExtendWith(MockitoExtension.class)
+public class HeadcountStatisticMaintainerTest {
+
+  // 2025-05-15(목)
+  private static final LocalDate TODAY = LocalDate.of(2025, 5, 15);
+
+  @Mock
+  private EmployeeStatisticRepository statisticRepository;
+
+  @Mock
+  private TrendUpdater trendUpdater;
+
+  @Mock
+  private FullTrendStatisticGenerator trendStatisticGenerator;
+
+  @InjectMocks
+  private HeadcountStatisticMaintainer maintainer;
+
+  @Test
+  @DisplayName("오늘이 속한 일, 주, 월, 분기, 연 통계를 증감만큼 갱신")
+  void incrementsCurrentBuckets() {
+    when(statisticRepository.incrementEmployeeCount(any(), any(), anyInt())).thenReturn(1);
+
+    maintainer.apply(new HeadcountChangedEvent("EMP-2025-001", TODAY, 1), TODAY);
+
+    verify(statisticRepository).incrementEmployeeCount(EmployeeStatisticType.DAY, TODAY, 1);
+    verify(statisticRepository).incrementEmployeeCount(EmployeeStatisticType.WEEK,
+        LocalDate.of(2025, 5, 12), 1);
+    verify(statisticRepository).incrementEmployeeCount(EmployeeStatisticType.MONTH,
+        LocalDate.of(2025, 5, 1), 1);
+    verify(statisticRepository).incrementEmployeeCount(EmployeeStatisticType.QUARTER,
+        LocalDate.of(2025, 4, 1), 1);
+    verify(statisticRepository).incrementEmployeeCount(EmployeeStatisticType.YEAR,
+        LocalDate.of(2025, 1, 1), 1);
+    verify(trendUpdater, never()).runDailyBatch();
+    verifyNoInteractions(trendStatisticGenerator);
+  }
+
+  @Test
+  @DisplayName("입사일이 과거면 현재 구간 갱신 후 입사일부터 다시 계산")
+  void recomputesFromBackDatedChange() {
+    when(statisticRepository.incrementEmployeeCount(any(), any(), anyInt())).thenReturn(1);
+    LocalDate hireDate = LocalDate.of(2024, 11, 3);
+
+    maintainer.apply(new HeadcountChangedEvent("EMP-2024-007", hireDate, 1), TODAY);
+
+    verify(statisticRepository).incrementEmployeeCount(EmployeeStatisticType.DAY, TODAY, 1);
+    verify(trendStatisticGenerator).recomputeFrom(hireDate);
+  }
+
+  @Test
+  @DisplayName("갱신할 통계가 없으면 현재 구간을 다시 집계")
+  void recountsWhenStatisticMissing() {
+    when(statisticRepository.incrementEmployeeCount(any(), any(), anyInt())).thenReturn(0);
+
+    maintainer.apply(new HeadcountChangedEvent("EMP-2025-001", TODAY, -1), TODAY);
+
+    verify(trendUpdater).runDailyBatch();
+  }
+
+  @Test
+  @DisplayName("전체 재계산 중의 변경은 교체 후 다시 계산")
+  void recomputesChangeDuringRebuild() {
+    when(statisticRepository.incrementEmployeeCount(any(), any(), anyInt())).thenReturn(1);
+    when(trendStatisticGenerator.isRebuilding()).thenReturn(true);
+
+    maintainer.apply(new HeadcountChangedEvent("EMP-2025-001", TODAY, -1), TODAY);
+
+    verify(trendStatisticGenerator).recomputeFrom(TODAY);
+  }
+
+  @Test
+  @DisplayName("입사일이 미래면 갱신하지 않음")
+  void ignoresFutureChange() {
+    maintainer.apply(new HeadcountChangedEvent("EMP-2025-001", TODAY.plusDays(3), 1), TODAY);
+
+    verifyNoInteractions(statisticRepository, trendUpdater, trendStatisticGenerator);
+  }
+}
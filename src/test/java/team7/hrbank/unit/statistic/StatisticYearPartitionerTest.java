@@ -0,0 +1,34 @@
+package team7.hrbank.unit.statistic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import team7.hrbank.common.partitioner.StatisticYearPartitioner;
+
+public class StatisticYearPartitionerTest {
+
+  @Test
+  @DisplayName("시작일부터 종료일까지 연도별 파티션으로 분할")
+  void splitsPerYear() {
+    StatisticYearPartitioner partitioner = new StatisticYearPartitioner(
+        LocalDate.of(2023, 6, 15), LocalDate.of(2025, 3, 2));
+
+    Map<String, ExecutionContext> partitions = partitioner.partition(1);
+
+    assertThat(partitions).containsOnlyKeys("partition2023", "partition2024", "partition2025");
+    assertRange(partitions.get("partition2023"), "2023-06-15", "2023-12-31");
+    assertRange(partitions.get("partition2024"), "2024-01-01", "2024-12-31");
+    assertRange(partitions.get("partition2025"), "2025-01-01", "2025-03-02");
+    assertThat(partitions.values())
+        .allSatisfy(context -> assertThat(context.getString("seriesEnd")).isEqualTo("2025-03-02"));
+  }
+
+  private static void assertRange(ExecutionContext context, String from, String to) {
+    assertThat(context.getString("from")).isEqualTo(from);
+    assertThat(context.getString("to")).isEqualTo(to);
+  }
+}